@@ -0,0 +1,147 @@
+package com.chavaillaz.search.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverterFactory;
+import com.chavaillaz.search.converter.SearchDataConverterResult;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.operator.SearchRelationalOperatorResolver;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Benchmark of each relational operator of the converters, interpreted and compiled.
+ * The scores are given per value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchConverterBenchmark {
+
+    private static final int VALUES = 1024;
+
+    @Param({"STRING_EQUALS", "STRING_LIKE", "STRING_LIST", "STRING_LIST_EXACT",
+            "LONG_EQUALS", "LONG_LIKE", "LONG_INTERVAL", "LONG_LIST",
+            "DOUBLE_EQUALS", "DOUBLE_LIKE", "DOUBLE_INTERVAL", "DOUBLE_LIST",
+            "BIG_DECIMAL_EQUALS", "BIG_DECIMAL_LIKE", "BIG_DECIMAL_INTERVAL", "BIG_DECIMAL_LIST"})
+    private Case operation;
+
+    private SearchDataConverter converter;
+    private SearchExpressionField field;
+    private SearchRelationalOperator operator;
+    private Object expected;
+    private Predicate<Object> matcher;
+    private Object[] values;
+
+    @Setup
+    public void setup() {
+        field = new SearchExpressionField();
+        field.setName("field");
+        field.setType(operation.type);
+        field.setDefaultOperator(operation.defaultOperator);
+        field.freeze();
+
+        converter = SearchDataConverterFactory.getConverter(field);
+        SearchDataConverterResult result = converter.asObject(new SearchRelationalOperatorResolver(), field, operation.expression);
+        operator = result.getOperator();
+        expected = result.getValue();
+        matcher = converter.compile(field, operator, expected);
+
+        Random random = new Random(SearchRecordGenerator.DEFAULT_SEED);
+        values = new Object[VALUES];
+        for (int index = 0; index < VALUES; index++) {
+            values[index] = operation.generator.apply(random);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int match() {
+        int matches = 0;
+        for (Object value : values) {
+            if (converter.match(field, operator, expected, value)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public int matchCompiled() {
+        int matches = 0;
+        for (Object value : values) {
+            if (matcher.test(value)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Combinations of value type and relational operator benchmarked.
+     */
+    public enum Case {
+
+        STRING_EQUALS(String.class, SearchRelationalOperator.EQUALS, "alice", Case::randomName),
+        STRING_LIKE(String.class, SearchRelationalOperator.LIKE, "li", Case::randomName),
+        STRING_LIST(String.class, SearchRelationalOperator.LIKE, "ali,bo,ev,tr,wa,cha,da,os,pe", Case::randomName),
+        STRING_LIST_EXACT(String.class, SearchRelationalOperator.EQUALS, "alice,bob,eve", Case::randomName),
+        LONG_EQUALS(Long.class, SearchRelationalOperator.EQUALS, "500", random -> (long) random.nextInt(1000)),
+        LONG_LIKE(Long.class, SearchRelationalOperator.LIKE, "5", random -> (long) random.nextInt(1000)),
+        LONG_INTERVAL(Long.class, SearchRelationalOperator.EQUALS, "100-500", random -> (long) random.nextInt(1000)),
+        LONG_LIST(Long.class, SearchRelationalOperator.EQUALS, "5,10,15,20,500", random -> (long) random.nextInt(1000)),
+        DOUBLE_EQUALS(Double.class, SearchRelationalOperator.EQUALS, "2.5", random -> random.nextInt(400) / 40.0),
+        DOUBLE_LIKE(Double.class, SearchRelationalOperator.LIKE, "2.5", random -> random.nextInt(400) / 40.0),
+        DOUBLE_INTERVAL(Double.class, SearchRelationalOperator.EQUALS, "2.5-7.5", random -> random.nextInt(400) / 40.0),
+        DOUBLE_LIST(Double.class, SearchRelationalOperator.EQUALS, "2.5,5.0,7.5", random -> random.nextInt(400) / 40.0),
+        BIG_DECIMAL_EQUALS(BigDecimal.class, SearchRelationalOperator.EQUALS, "500.00", Case::randomAmount),
+        BIG_DECIMAL_LIKE(BigDecimal.class, SearchRelationalOperator.LIKE, "50", Case::randomAmount),
+        BIG_DECIMAL_INTERVAL(BigDecimal.class, SearchRelationalOperator.EQUALS, "100-500", Case::randomAmount),
+        BIG_DECIMAL_LIST(BigDecimal.class, SearchRelationalOperator.EQUALS, "1.50,2.50,500.00", Case::randomAmount);
+
+        private static final String[] NAMES = {"Alice", "Bob", "Charlie", "Dave", "Eve", "Mallory", "Oscar", "Peggy", "Trent", "Walter"};
+
+        private final Class<?> type;
+        private final SearchRelationalOperator defaultOperator;
+        private final String expression;
+        private final Function<Random, Object> generator;
+
+        Case(Class<?> type, SearchRelationalOperator defaultOperator, String expression, Function<Random, Object> generator) {
+            this.type = type;
+            this.defaultOperator = defaultOperator;
+            this.expression = expression;
+            this.generator = generator;
+        }
+
+        private static Object randomName(Random random) {
+            return NAMES[random.nextInt(NAMES.length)];
+        }
+
+        private static Object randomAmount(Random random) {
+            return BigDecimal.valueOf(random.nextInt(100_000), 2);
+        }
+
+    }
+
+}
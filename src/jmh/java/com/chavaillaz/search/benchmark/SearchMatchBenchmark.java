@@ -0,0 +1,118 @@
+package com.chavaillaz.search.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.data.SearchMapDataProvider;
+import com.chavaillaz.search.parser.SearchParser;
+
+/**
+ * Benchmark of the matching of records with expressions of different shapes.
+ * The scores are given per record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchMatchBenchmark {
+
+    private static final int RECORDS = 1024;
+
+    @Param({"LEAF", "CONJUNCTION", "DISJUNCTION", "NESTED", "ALL_FIELDS", "ALL_FIELDS_LIST", "GENERATED"})
+    private Shape shape;
+
+    private SearchParser parser;
+    private Predicate<SearchDataProvider> predicate;
+    private SearchMapDataProvider<Object>[] records;
+
+    @Setup
+    public void setup() {
+        SearchRecordGenerator generator = new SearchRecordGenerator();
+        parser = new SearchParser(SearchRecordGenerator.createPlan());
+        parser.parse(shape.getExpression(generator));
+        predicate = parser.compile();
+        records = generator.createRecords(RECORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public int match() {
+        int matches = 0;
+        for (SearchMapDataProvider<Object> record : records) {
+            if (parser.match(record)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public int matchCompiled() {
+        int matches = 0;
+        for (SearchMapDataProvider<Object> record : records) {
+            if (predicate.test(record)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public int getMatchingFields() {
+        int fields = 0;
+        for (SearchMapDataProvider<Object> record : records) {
+            fields += parser.getMatchingField(record).size();
+        }
+        return fields;
+    }
+
+    /**
+     * Shapes of the benchmarked expressions.
+     */
+    public enum Shape {
+
+        LEAF("name:ali"),
+        CONJUNCTION("name:ali AND city:paris AND price:10-500 AND weight:1-8"),
+        DISJUNCTION("name:ali OR city:paris OR price:10-500 OR weight:1-8"),
+        NESTED("(name:ali OR name:bob) AND (city:paris OR (price:10-200 AND code:!AB1))"),
+        ALL_FIELDS("alice"),
+        ALL_FIELDS_LIST("geneva,zurich"),
+        GENERATED(null);
+
+        private final String expression;
+
+        Shape(String expression) {
+            this.expression = expression;
+        }
+
+        /**
+         * Gets the expression of the shape.
+         *
+         * @param generator The generator to use for the generated expressions
+         * @return The search expression
+         */
+        public String getExpression(SearchRecordGenerator generator) {
+            return expression != null ? expression : generator.createExpression(30);
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.chavaillaz.search.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+import com.chavaillaz.search.parser.SearchParser;
+
+/**
+ * Benchmark of the parsing of short and long search expressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchParserBenchmark {
+
+    @Param({"2", "10", "50"})
+    private int terms;
+
+    private SearchExpressionPlan plan;
+    private String expression;
+
+    @Setup
+    public void setup() {
+        plan = SearchRecordGenerator.createPlan();
+        expression = new SearchRecordGenerator().createExpression(terms);
+    }
+
+    @Benchmark
+    public SearchOperation parse() {
+        return SearchParser.parse(plan, expression);
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.chavaillaz.search.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.chavaillaz.search.data.SearchMapDataProvider;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.operator.SearchRelationalOperatorResolver;
+import com.chavaillaz.search.parser.SearchExpressionField;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+
+/**
+ * Deterministic generator of the synthetic plan, records and expressions used by the benchmarks.
+ * Two generators created with the same seed always produce the same sequence of records and expressions.
+ */
+public class SearchRecordGenerator {
+
+    public static final long DEFAULT_SEED = 42;
+
+    private static final String[] NAMES = {"Alice", "Bob", "Charlie", "Dave", "Eve", "Mallory", "Oscar", "Peggy", "Trent", "Walter"};
+    private static final String[] CITIES = {"Paris", "Lyon", "Bern", "Geneva", "Zurich", "Lausanne", "Basel", "Lugano"};
+    private static final String[] WORDS = {"fast", "search", "expression", "parser", "record", "value", "field", "match", "index", "token"};
+    private static final String[] TERMS = {"name:ali", "name:!bob", "city:paris", "city:lyon,bern", "code:AB1", "code:!CD2",
+            "price:10-200", "price:!50-60", "price:5,10,15,20", "weight:1.5-7.5", "amount:100-500", "description:search",
+            "alice", "!mallory", "geneva,zurich"};
+
+    private final Random random;
+
+    /**
+     * Creates a new generator with the default seed.
+     */
+    public SearchRecordGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    /**
+     * Creates a new generator with the given seed.
+     *
+     * @param seed The seed of the pseudo-random sequence
+     */
+    public SearchRecordGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Creates the frozen plan containing the fields of the generated records.
+     *
+     * @return The plan of the generated records
+     */
+    public static SearchExpressionPlan createPlan() {
+        SearchExpressionPlan plan = new SearchExpressionPlan(new SearchRelationalOperatorResolver());
+        plan.addField(createField("name", String.class, SearchRelationalOperator.LIKE, false));
+        plan.addField(createField("city", String.class, SearchRelationalOperator.EQUALS, false));
+        plan.addField(createField("code", String.class, SearchRelationalOperator.EQUALS, true));
+        plan.addField(createField("description", String.class, SearchRelationalOperator.LIKE, false));
+        plan.addField(createField("price", Long.class, SearchRelationalOperator.EQUALS, false));
+        plan.addField(createField("weight", Double.class, SearchRelationalOperator.EQUALS, false));
+        plan.addField(createField("amount", BigDecimal.class, SearchRelationalOperator.EQUALS, false));
+        return plan.freeze();
+    }
+
+    private static SearchExpressionField createField(String name, Class<?> type, SearchRelationalOperator operator, boolean caseSensitive) {
+        SearchExpressionField field = new SearchExpressionField();
+        field.setName(name);
+        field.setType(type);
+        field.setDefaultOperator(operator);
+        field.setCaseSensitive(caseSensitive);
+        return field;
+    }
+
+    /**
+     * Creates the next record, with one value for each field of the plan.
+     *
+     * @return The values of the record by field name
+     */
+    public Map<String, Object> createRecord() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", NAMES[random.nextInt(NAMES.length)]);
+        data.put("city", CITIES[random.nextInt(CITIES.length)]);
+        data.put("code", (char) ('A' + random.nextInt(4)) + "" + (char) ('B' + random.nextInt(4)) + random.nextInt(10));
+        data.put("description", createText(8 + random.nextInt(16)));
+        data.put("price", (long) random.nextInt(1000));
+        data.put("weight", random.nextInt(400) / 40.0);
+        data.put("amount", BigDecimal.valueOf(random.nextInt(100_000), 2));
+        return data;
+    }
+
+    /**
+     * Creates the next records.
+     *
+     * @param count The number of records to create
+     * @return The data providers of the records
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SearchMapDataProvider<Object>[] createRecords(int count) {
+        SearchMapDataProvider<Object>[] records = new SearchMapDataProvider[count];
+        for (int index = 0; index < count; index++) {
+            records[index] = new SearchMapDataProvider<>(createRecord());
+        }
+        return records;
+    }
+
+    /**
+     * Creates the next text made of the given number of words.
+     *
+     * @param words The number of words in the text
+     * @return The text
+     */
+    public String createText(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int index = 0; index < words; index++) {
+            if (index > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Creates the next expression containing the given number of terms,
+     * combined with random logical operators and groups.
+     *
+     * @param terms The number of terms in the expression
+     * @return The search expression
+     */
+    public String createExpression(int terms) {
+        List<String> parts = new ArrayList<>();
+        int remaining = terms;
+        while (remaining > 0) {
+            int group = Math.min(remaining, 1 + random.nextInt(4));
+            remaining -= group;
+            parts.add(group == 1 ? createTerm() : "(" + createFlatExpression(group) + ")");
+        }
+        return String.join(createOperator(), parts);
+    }
+
+    private String createFlatExpression(int terms) {
+        StringBuilder expression = new StringBuilder(createTerm());
+        for (int index = 1; index < terms; index++) {
+            expression.append(createOperator()).append(createTerm());
+        }
+        return expression.toString();
+    }
+
+    private String createTerm() {
+        return TERMS[random.nextInt(TERMS.length)];
+    }
+
+    private String createOperator() {
+        return random.nextBoolean() ? " AND " : " OR ";
+    }
+
+}
@@ -122,7 +122,7 @@ public abstract class AbstractSearchDataConverter implements SearchDataConverter
     }
 
     /**
-     * Compare values with {@link Object#toString()}
+     * Compare values with {@link Object#toString()}, ignoring the case if the field is case-insensitive
      *
      * @param field    The field to match
      * @param expected The expected value
@@ -130,11 +130,12 @@ public abstract class AbstractSearchDataConverter implements SearchDataConverter
      * @return {@link Boolean#TRUE} if the current value match the expected one, {@link Boolean#FALSE} otherwise
      */
     protected boolean matchLike(SearchExpressionField field, Object expected, Object current) {
-        return fieldRepresentation(field, current).contains(fieldRepresentation(field, expected));
+        return SearchStringMatcher.contains(current.toString(), expected.toString(), isCaseSensitive(field));
     }
 
     /**
-     * Search value inside the list by comparing values with {@link Object#toString()}
+     * Search value inside the list by comparing values with {@link Object#toString()},
+     * ignoring the case if the field is case-insensitive
      *
      * @param field    The field to match
      * @param expected The expected value
@@ -144,9 +145,10 @@ public abstract class AbstractSearchDataConverter implements SearchDataConverter
     protected boolean matchList(SearchExpressionField field, Object expected, Object current) {
         if (expected instanceof List<?> expectedValue) {
             String currentValue = current.toString();
+            boolean caseSensitive = isCaseSensitive(field);
             return expectedValue.stream()
                     .map(Object::toString)
-                    .anyMatch(currentValue::contains);
+                    .anyMatch(value -> SearchStringMatcher.contains(currentValue, value, caseSensitive));
         }
         return false;
     }
@@ -160,13 +162,24 @@ public abstract class AbstractSearchDataConverter implements SearchDataConverter
      */
     protected String fieldRepresentation(SearchExpressionField field, Object value) {
         if (value != null) {
-            if (field != null && field.isCaseSensitive()) {
+            if (isCaseSensitive(field)) {
                 return value.toString();
             } else {
-                return value.toString().toLowerCase();
+                return SearchStringMatcher.fold(value.toString());
             }
         }
         return null;
     }
 
+    /**
+     * Indicates if the values of the field have to be compared respecting their case.
+     * Values matched without any field (when searching in all of them) are case-insensitive.
+     *
+     * @param field The field concerned
+     * @return {@link Boolean#TRUE} if the field is case-sensitive, {@link Boolean#FALSE} otherwise
+     */
+    protected boolean isCaseSensitive(SearchExpressionField field) {
+        return field != null && field.isCaseSensitive();
+    }
+
 }
@@ -0,0 +1,55 @@
+package com.chavaillaz.search.converter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.SearchException;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Converter for decimal numbers of arbitrary precision.
+ * <p>
+ * Manages the conversion for:
+ * <ul>
+ * <li>BigDecimal</li>
+ * </ul>
+ * </p>
+ */
+public class BigDecimalSearchDataConverter extends NumberSearchDataConverter {
+
+    @Override
+    protected Object asSingleObject(SearchExpressionField field, String value) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new SearchException("Error during conversion of value " + value + " to " + BigDecimal.class);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return BigDecimal.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public Predicate<Object> compile(SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        if (operator == SearchRelationalOperator.INTERVAL
+                && expected instanceof List<?> interval
+                && interval.get(0) instanceof BigDecimal start
+                && interval.get(1) instanceof BigDecimal end) {
+            BigDecimal minimum = start.min(end);
+            BigDecimal maximum = start.max(end);
+            return current -> current instanceof BigDecimal value
+                    && value.compareTo(minimum) >= 0
+                    && value.compareTo(maximum) <= 0;
+        }
+        return super.compile(field, operator, expected);
+    }
+
+}
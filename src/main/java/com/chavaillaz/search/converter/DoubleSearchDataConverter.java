@@ -0,0 +1,171 @@
+package com.chavaillaz.search.converter;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.SearchException;
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Converter for floating-point numbers, comparing them as primitive {@code double} values.
+ * Values are ordered like {@link Double#compare(double, double)}.
+ * <p>
+ * Manages the conversion for:
+ * <ul>
+ * <li>Float</li>
+ * <li>Double</li>
+ * </ul>
+ * </p>
+ */
+public class DoubleSearchDataConverter extends NumberSearchDataConverter {
+
+    @Override
+    protected Object asSingleObject(SearchExpressionField field, String value) {
+        if (value == null) {
+            return null;
+        }
+
+        Class<?> targetType = field.getWrapperType();
+        String number = value.trim();
+        try {
+            if (targetType == Float.class) {
+                return Float.valueOf(number);
+            } else {
+                return Double.valueOf(number);
+            }
+        } catch (NumberFormatException e) {
+            throw new SearchException("Error during conversion of value " + value + " to " + targetType);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return Float.class.isAssignableFrom(clazz) || float.class.isAssignableFrom(clazz)
+                || Double.class.isAssignableFrom(clazz) || double.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public Predicate<Object> compile(SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        if (operator == SearchRelationalOperator.EQUALS && isFloating(expected)) {
+            return new EqualsMatcher(expected, ((Number) expected).doubleValue());
+        } else if (operator == SearchRelationalOperator.INTERVAL
+                && expected instanceof List<?> interval
+                && isFloating(interval.get(0))
+                && isFloating(interval.get(1))) {
+            double start = ((Number) interval.get(0)).doubleValue();
+            double end = ((Number) interval.get(1)).doubleValue();
+            return Double.compare(start, end) <= 0 ? new IntervalMatcher(start, end) : new IntervalMatcher(end, start);
+        } else if (operator == SearchRelationalOperator.LIST && isFloatingList(expected)) {
+            long[] values = ((List<?>) expected).stream().mapToLong(value -> bits(((Number) value).doubleValue())).toArray();
+            return new ListMatcher(new SearchLongHashSet(values));
+        }
+        return super.compile(field, operator, expected);
+    }
+
+    @Override
+    protected boolean matchInterval(Object expected, Object current) {
+        if (expected instanceof List<?> interval
+                && isFloating(interval.get(0))
+                && isFloating(interval.get(1))) {
+            if (!isFloating(current)) {
+                // Like the compiled interval, only floating-point values can be in it
+                return false;
+            }
+            double start = ((Number) interval.get(0)).doubleValue();
+            double end = ((Number) interval.get(1)).doubleValue();
+            double value = ((Number) current).doubleValue();
+            return Double.compare(start, end) <= 0
+                    ? Double.compare(value, start) >= 0 && Double.compare(value, end) <= 0
+                    : Double.compare(value, end) >= 0 && Double.compare(value, start) <= 0;
+        }
+        return super.matchInterval(expected, current);
+    }
+
+    @Override
+    protected boolean matchList(SearchExpressionField field, Object expected, Object current) {
+        if (isFloatingList(expected)) {
+            // Like the compiled list, any floating-point value is compared by its double value
+            return isFloating(current) && ((List<?>) expected).stream()
+                    .anyMatch(value -> bits(((Number) value).doubleValue()) == bits(((Number) current).doubleValue()));
+        }
+        return super.matchList(field, expected, current);
+    }
+
+    private static boolean isFloatingList(Object expected) {
+        return expected instanceof List<?> list
+                && !list.isEmpty()
+                && list.stream().allMatch(DoubleSearchDataConverter::isFloating);
+    }
+
+    private static boolean isFloating(Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+    /**
+     * Gets the bits of the given value, equal only for values considered equal by {@link Double#compare(double, double)}.
+     *
+     * @param value The value
+     * @return The bits representing the value
+     */
+    private static long bits(double value) {
+        return Double.doubleToLongBits(value);
+    }
+
+    private record EqualsMatcher(Object expected, double value) implements SearchPrimitiveMatcher {
+
+        @Override
+        public boolean test(Object current) {
+            return expected.equals(current);
+        }
+
+        @Override
+        public boolean test(SearchDataProvider dataProvider, SearchExpressionField field) {
+            if (dataProvider.hasDoubleValue(field)) {
+                return Double.compare(dataProvider.getDouble(field), value) == 0;
+            }
+            return test(dataProvider.getFieldValue(field));
+        }
+
+    }
+
+    private record IntervalMatcher(double minimum, double maximum) implements SearchPrimitiveMatcher {
+
+        @Override
+        public boolean test(Object current) {
+            return isFloating(current) && contains(((Number) current).doubleValue());
+        }
+
+        @Override
+        public boolean test(SearchDataProvider dataProvider, SearchExpressionField field) {
+            if (dataProvider.hasDoubleValue(field)) {
+                return contains(dataProvider.getDouble(field));
+            }
+            return test(dataProvider.getFieldValue(field));
+        }
+
+        private boolean contains(double value) {
+            return Double.compare(value, minimum) >= 0 && Double.compare(value, maximum) <= 0;
+        }
+
+    }
+
+    private record ListMatcher(SearchLongHashSet values) implements SearchPrimitiveMatcher {
+
+        @Override
+        public boolean test(Object current) {
+            return isFloating(current) && values.contains(bits(((Number) current).doubleValue()));
+        }
+
+        @Override
+        public boolean test(SearchDataProvider dataProvider, SearchExpressionField field) {
+            if (dataProvider.hasDoubleValue(field)) {
+                return values.contains(bits(dataProvider.getDouble(field)));
+            }
+            return test(dataProvider.getFieldValue(field));
+        }
+
+    }
+
+}
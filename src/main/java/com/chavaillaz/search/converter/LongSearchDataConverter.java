@@ -0,0 +1,166 @@
+package com.chavaillaz.search.converter;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.SearchException;
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Converter for integral numbers, comparing them as primitive {@code long} values.
+ * <p>
+ * Manages the conversion for:
+ * <ul>
+ * <li>Byte</li>
+ * <li>Short</li>
+ * <li>Integer</li>
+ * <li>Long</li>
+ * </ul>
+ * </p>
+ */
+public class LongSearchDataConverter extends NumberSearchDataConverter {
+
+    @Override
+    protected Object asSingleObject(SearchExpressionField field, String value) {
+        if (value == null) {
+            return null;
+        }
+
+        Class<?> targetType = field.getWrapperType();
+        String number = value.trim();
+        try {
+            if (targetType == Integer.class) {
+                return Integer.valueOf(number);
+            } else if (targetType == Long.class) {
+                return Long.valueOf(number);
+            } else if (targetType == Short.class) {
+                return Short.valueOf(number);
+            } else {
+                return Byte.valueOf(number);
+            }
+        } catch (NumberFormatException e) {
+            throw new SearchException("Error during conversion of value " + value + " to " + targetType);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return Byte.class.isAssignableFrom(clazz) || byte.class.isAssignableFrom(clazz)
+                || Short.class.isAssignableFrom(clazz) || short.class.isAssignableFrom(clazz)
+                || Integer.class.isAssignableFrom(clazz) || int.class.isAssignableFrom(clazz)
+                || Long.class.isAssignableFrom(clazz) || long.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public Predicate<Object> compile(SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        if (operator == SearchRelationalOperator.EQUALS && isIntegral(expected)) {
+            return new EqualsMatcher(expected, ((Number) expected).longValue());
+        } else if (operator == SearchRelationalOperator.INTERVAL
+                && expected instanceof List<?> interval
+                && isIntegral(interval.get(0))
+                && isIntegral(interval.get(1))) {
+            long start = ((Number) interval.get(0)).longValue();
+            long end = ((Number) interval.get(1)).longValue();
+            return new IntervalMatcher(Math.min(start, end), Math.max(start, end));
+        } else if (operator == SearchRelationalOperator.LIST && isIntegralList(expected)) {
+            long[] values = ((List<?>) expected).stream().mapToLong(value -> ((Number) value).longValue()).toArray();
+            return new ListMatcher(new SearchLongHashSet(values));
+        }
+        return super.compile(field, operator, expected);
+    }
+
+    @Override
+    protected boolean matchInterval(Object expected, Object current) {
+        if (expected instanceof List<?> interval
+                && isIntegral(interval.get(0))
+                && isIntegral(interval.get(1))) {
+            if (!isIntegral(current)) {
+                // Like the compiled interval, only integral values can be in it
+                return false;
+            }
+            long start = ((Number) interval.get(0)).longValue();
+            long end = ((Number) interval.get(1)).longValue();
+            long value = ((Number) current).longValue();
+            return value >= Math.min(start, end) && value <= Math.max(start, end);
+        }
+        return super.matchInterval(expected, current);
+    }
+
+    @Override
+    protected boolean matchList(SearchExpressionField field, Object expected, Object current) {
+        if (isIntegralList(expected)) {
+            // Like the compiled list, any integral value is compared by its long value
+            return isIntegral(current) && ((List<?>) expected).stream()
+                    .anyMatch(value -> ((Number) value).longValue() == ((Number) current).longValue());
+        }
+        return super.matchList(field, expected, current);
+    }
+
+    private static boolean isIntegralList(Object expected) {
+        return expected instanceof List<?> list
+                && !list.isEmpty()
+                && list.stream().allMatch(LongSearchDataConverter::isIntegral);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private record EqualsMatcher(Object expected, long value) implements SearchPrimitiveMatcher {
+
+        @Override
+        public boolean test(Object current) {
+            return expected.equals(current);
+        }
+
+        @Override
+        public boolean test(SearchDataProvider dataProvider, SearchExpressionField field) {
+            if (dataProvider.hasLongValue(field)) {
+                return dataProvider.getLong(field) == value;
+            }
+            return test(dataProvider.getFieldValue(field));
+        }
+
+    }
+
+    private record IntervalMatcher(long minimum, long maximum) implements SearchPrimitiveMatcher {
+
+        @Override
+        public boolean test(Object current) {
+            return isIntegral(current) && contains(((Number) current).longValue());
+        }
+
+        @Override
+        public boolean test(SearchDataProvider dataProvider, SearchExpressionField field) {
+            if (dataProvider.hasLongValue(field)) {
+                return contains(dataProvider.getLong(field));
+            }
+            return test(dataProvider.getFieldValue(field));
+        }
+
+        private boolean contains(long value) {
+            return value >= minimum && value <= maximum;
+        }
+
+    }
+
+    private record ListMatcher(SearchLongHashSet values) implements SearchPrimitiveMatcher {
+
+        @Override
+        public boolean test(Object current) {
+            return isIntegral(current) && values.contains(((Number) current).longValue());
+        }
+
+        @Override
+        public boolean test(SearchDataProvider dataProvider, SearchExpressionField field) {
+            if (dataProvider.hasLongValue(field)) {
+                return values.contains(dataProvider.getLong(field));
+            }
+            return test(dataProvider.getFieldValue(field));
+        }
+
+    }
+
+}
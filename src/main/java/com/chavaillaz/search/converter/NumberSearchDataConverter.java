@@ -3,7 +3,11 @@ package com.chavaillaz.search.converter;
 import java.lang.reflect.Constructor;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.Range;
@@ -27,6 +31,13 @@ import com.chavaillaz.search.parser.SearchExpressionField;
  * <li>BigInteger</li>
  * </ul>
  * </p>
+ * <p>
+ * Values are converted by reflection and compared as {@link Comparable}.
+ * Lists of values are matched by membership, comparing the values with {@link Object#equals(Object)}
+ * except for {@link BigDecimal} values, compared without their scale like {@link BigDecimal#compareTo(BigDecimal)}.
+ * The specialized converters {@link LongSearchDataConverter}, {@link DoubleSearchDataConverter}
+ * and {@link BigDecimalSearchDataConverter} are preferred for their types.
+ * </p>
  */
 public class NumberSearchDataConverter extends AbstractSearchDataConverter {
 
@@ -69,18 +80,85 @@ public class NumberSearchDataConverter extends AbstractSearchDataConverter {
         };
     }
 
-    private boolean matchInterval(Object expected, Object current) {
-        if (expected instanceof List expectedValue) {
-            Object startInterval = expectedValue.get(0);
-            Object endInterval = expectedValue.get(1);
+    @Override
+    public Predicate<Object> compile(SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        return switch (operator) {
+            case INTERVAL -> compileInterval(expected);
+            case LIST -> compileList(field, expected);
+            default -> super.compile(field, operator, expected);
+        };
+    }
+
+    private Predicate<Object> compileList(SearchExpressionField field, Object expected) {
+        if (expected instanceof List<?> list) {
+            Set<Object> values = new HashSet<>();
+            list.forEach(value -> values.add(listKey(value)));
+            return current -> current != null && values.contains(listKey(current));
+        }
+        return super.compile(field, SearchRelationalOperator.LIST, expected);
+    }
 
-            if (startInterval instanceof Comparable comparableStart
-                    && endInterval instanceof Comparable comparableEnd) {
-                return Range.between(comparableStart, comparableEnd).contains(current);
-            }
+    /**
+     * Compiles the matching of values in an interval, building its range once.
+     * Only the values of the same type as the bounds can be in the interval.
+     *
+     * @param expected The expected interval, as a list of its two bounds
+     * @return The predicate indicating if a value is in the interval
+     */
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object> compileInterval(Object expected) {
+        if (expected instanceof List<?> interval
+                && interval.get(0) instanceof Comparable<?> start
+                && interval.get(1) instanceof Comparable<?> end
+                && start.getClass() == end.getClass()) {
+            Class<?> type = start.getClass();
+            Comparator<Object> comparator = (first, second) -> ((Comparable<Object>) first).compareTo(second);
+            Range<Object> range = Range.between(start, end, comparator);
+            return current -> type.isInstance(current) && range.contains(current);
         }
 
+        return current -> false;
+    }
+
+    /**
+     * Search value inside the list by comparing values with {@link Object#equals(Object)},
+     * ignoring the scale of {@link BigDecimal} values.
+     * Contrary to the other types, numbers are never matched when only containing one of the values.
+     *
+     * @param field    The field to match
+     * @param expected The expected value
+     * @param current  The current value
+     * @return {@link Boolean#TRUE} if the current value match the expected one, {@link Boolean#FALSE} otherwise
+     */
+    @Override
+    protected boolean matchList(SearchExpressionField field, Object expected, Object current) {
+        if (expected instanceof List<?> expectedValue) {
+            Object key = listKey(current);
+            return expectedValue.stream()
+                    .anyMatch(value -> value != null && listKey(value).equals(key));
+        }
         return false;
     }
 
+    /**
+     * Gets the value by which a number is compared in lists, so that decimals differing only by their scale are equal.
+     *
+     * @param value The value
+     * @return The value to compare
+     */
+    private static Object listKey(Object value) {
+        return value instanceof BigDecimal decimal ? decimal.stripTrailingZeros() : value;
+    }
+
+    /**
+     * Indicates if the current value is in the expected interval.
+     *
+     * @param expected The expected interval, as a list of its two bounds
+     * @param current  The current value
+     * @return {@link Boolean#TRUE} if the current value is in the interval, {@link Boolean#FALSE} otherwise
+     */
+    protected boolean matchInterval(Object expected, Object current) {
+        return compileInterval(expected).test(current);
+    }
+
 }
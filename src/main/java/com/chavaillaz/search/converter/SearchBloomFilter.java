@@ -0,0 +1,55 @@
+package com.chavaillaz.search.converter;
+
+/**
+ * Bloom filter of primitive {@code long} values.
+ * <p>
+ * About ten bits are used for each value, giving around one percent of false positives
+ * with the four positions tested for each value. Absent values are never reported as present.
+ * </p>
+ */
+public class SearchBloomFilter {
+
+    private static final int BITS_PER_VALUE = 10;
+    private static final int HASH_COUNT = 4;
+
+    private final long[] bits;
+    private final long mask;
+
+    /**
+     * Creates a new filter with the given values.
+     *
+     * @param values The values of the filter
+     */
+    public SearchBloomFilter(long[] values) {
+        long size = Long.highestOneBit(Math.max((long) values.length * BITS_PER_VALUE, Long.SIZE) * 2 - 1);
+        this.bits = new long[(int) (size / Long.SIZE)];
+        this.mask = size - 1;
+        for (long value : values) {
+            long hash = SearchLongHashSet.mix(~value);
+            long step = (hash >>> 32) | 1;
+            for (int index = 0; index < HASH_COUNT; index++) {
+                long position = (hash + index * step) & mask;
+                bits[(int) (position >>> 6)] |= 1L << position;
+            }
+        }
+    }
+
+    /**
+     * Indicates if the given value may be in the filter.
+     *
+     * @param value The value to search
+     * @return {@link Boolean#TRUE} if the value may be in the filter, {@link Boolean#FALSE} if it is certainly absent
+     */
+    public boolean mightContain(long value) {
+        long hash = SearchLongHashSet.mix(~value);
+        long step = (hash >>> 32) | 1;
+        for (int index = 0; index < HASH_COUNT; index++) {
+            long position = (hash + index * step) & mask;
+            if ((bits[(int) (position >>> 6)] & (1L << position)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.chavaillaz.search.converter;
 
+import java.util.function.Predicate;
+
 import com.chavaillaz.search.operator.SearchRelationalOperator;
 import com.chavaillaz.search.operator.SearchRelationalOperatorResolver;
 import com.chavaillaz.search.parser.SearchExpressionField;
@@ -38,4 +40,18 @@ public interface SearchDataConverter {
      */
     boolean match(SearchExpressionField field, SearchRelationalOperator operator, Object expected, Object current);
 
+    /**
+     * Creates a predicate indicating if a current value is matching the expected one with the given operator.
+     * The expected value is bound once, so that the predicate can be evaluated repeatedly without any preparation.
+     * By default, the predicate delegates to {@link #match(SearchExpressionField, SearchRelationalOperator, Object, Object)}.
+     *
+     * @param field    The field of the matching
+     * @param operator The operator to use for the matching
+     * @param expected The expected value given by the user
+     * @return The predicate testing the current values given by the data provider
+     */
+    default Predicate<Object> compile(SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        return current -> match(field, operator, expected, current);
+    }
+
 }
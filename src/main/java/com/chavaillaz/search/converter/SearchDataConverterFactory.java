@@ -1,30 +1,44 @@
 package com.chavaillaz.search.converter;
 
+import com.chavaillaz.search.SearchException;
 import com.chavaillaz.search.parser.SearchExpressionField;
 import lombok.experimental.UtilityClass;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Factory used to find the right converter for a specific type.
  * <p>
- * <p>By default, two converters are registered:</p>
+ * <p>By default, the following converters are registered:</p>
  * <ul>
  * <li>{@link StringSearchDataConverter}</li>
  * <li>{@link NumberSearchDataConverter}</li>
+ * <li>{@link LongSearchDataConverter}</li>
+ * <li>{@link DoubleSearchDataConverter}</li>
+ * <li>{@link BigDecimalSearchDataConverter}</li>
  * </ul>
+ * <p>
+ * The registered converters are kept in an immutable registry, replaced on every registration.
+ * The converter found for each class is cached in the registry, so that lookups never block
+ * and never see a partially modified list of converters.
+ * </p>
  */
 @UtilityClass
 public class SearchDataConverterFactory {
 
-    private static final List<SearchDataConverter> converters;
+    private static final Object registrationLock = new Object();
+    private static volatile Registry registry;
 
     static {
         // Default converters
-        converters = new ArrayList<>();
+        registry = Registry.of(List.of());
         registerConverter(new StringSearchDataConverter());
         registerConverter(new NumberSearchDataConverter());
+        registerConverter(new LongSearchDataConverter());
+        registerConverter(new DoubleSearchDataConverter());
+        registerConverter(new BigDecimalSearchDataConverter());
     }
 
     /**
@@ -33,7 +47,11 @@ public class SearchDataConverterFactory {
      * @param converter The converter
      */
     public static void registerConverter(SearchDataConverter converter) {
-        converters.add(0, converter);
+        synchronized (registrationLock) {
+            List<SearchDataConverter> converters = new ArrayList<>(registry.converters());
+            converters.add(0, converter);
+            registry = Registry.of(converters);
+        }
     }
 
     /**
@@ -42,7 +60,11 @@ public class SearchDataConverterFactory {
      * @param converter The converter
      */
     public static void unregisterConverter(SearchDataConverter converter) {
-        converters.remove(converter);
+        synchronized (registrationLock) {
+            List<SearchDataConverter> converters = new ArrayList<>(registry.converters());
+            converters.remove(converter);
+            registry = Registry.of(converters);
+        }
     }
 
     /**
@@ -52,10 +74,7 @@ public class SearchDataConverterFactory {
      * @return The converter found or {@code null} otherwise
      */
     public static SearchDataConverter findConverter(Class<?> clazz) {
-        return converters.stream()
-                .filter(converter -> converter.supports(clazz))
-                .findFirst()
-                .orElse(null);
+        return clazz != null ? registry.cache().get(clazz).orElse(null) : null;
     }
 
     /**
@@ -71,4 +90,39 @@ public class SearchDataConverterFactory {
         return defaultType != null ? findConverter(fieldType) : null;
     }
 
+    /**
+     * Gets the converter to use for the given field.
+     * This is the converter of the field when defined, or the converter of its type otherwise.
+     * When the field is {@code null}, the converter for {@link String} is used.
+     *
+     * @param field The field for which get the converter
+     * @return The converter found
+     * @throws SearchException If no converter can be found
+     */
+    public static SearchDataConverter getConverter(SearchExpressionField field) {
+        return Optional.ofNullable(field)
+                .map(SearchExpressionField::getConverter)
+                .or(() -> Optional.ofNullable(findConverter(field, String.class)))
+                .orElseThrow(() -> new SearchException("Neither a converter for field nor for type of " + field + " was found."));
+    }
+
+    /**
+     * Immutable list of converters with the cache of the converter found for each class.
+     */
+    private record Registry(List<SearchDataConverter> converters, ClassValue<Optional<SearchDataConverter>> cache) {
+
+        static Registry of(List<SearchDataConverter> converters) {
+            List<SearchDataConverter> registered = List.copyOf(converters);
+            return new Registry(registered, new ClassValue<>() {
+                @Override
+                protected Optional<SearchDataConverter> computeValue(Class<?> clazz) {
+                    return registered.stream()
+                            .filter(converter -> converter.supports(clazz))
+                            .findFirst();
+                }
+            });
+        }
+
+    }
+
 }
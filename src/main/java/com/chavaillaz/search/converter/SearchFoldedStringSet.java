@@ -0,0 +1,85 @@
+package com.chavaillaz.search.converter;
+
+import java.util.Collection;
+
+/**
+ * Set of strings compared without case, using open addressing with linear probing.
+ * <p>
+ * The set is built once from all its values, stored case-folded, and then only queried.
+ * The values searched are folded character by character while computing their hash and comparing them,
+ * so that no object is created for them (see {@link SearchStringMatcher#fold(CharSequence, int)}).
+ * </p>
+ */
+public class SearchFoldedStringSet {
+
+    private final String[] table;
+    private final int[] hashes;
+    private final int mask;
+
+    /**
+     * Creates a new set with the given values.
+     *
+     * @param values The values of the set
+     */
+    public SearchFoldedStringSet(Collection<String> values) {
+        int capacity = Integer.highestOneBit(Math.max(values.size(), 2) * 2 - 1) << 1;
+        this.table = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        values.forEach(value -> insert(SearchStringMatcher.fold(value)));
+    }
+
+    private void insert(String value) {
+        int hash = value.hashCode();
+        int slot = slot(hash);
+        while (table[slot] != null) {
+            if (hashes[slot] == hash && table[slot].equals(value)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        hashes[slot] = hash;
+    }
+
+    /**
+     * Indicates if the given value is in the set, ignoring its case.
+     *
+     * @param value The value to search
+     * @return {@link Boolean#TRUE} if the value is in the set, {@link Boolean#FALSE} otherwise
+     */
+    public boolean contains(CharSequence value) {
+        // Same hash code as the one of the folded value as string
+        int hash = 0;
+        for (int index = 0; index < value.length(); index++) {
+            hash = 31 * hash + SearchStringMatcher.fold(value, index);
+        }
+
+        int slot = slot(hash);
+        String current;
+        while ((current = table[slot]) != null) {
+            if (hashes[slot] == hash && isFoldedEqual(current, value)) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private static boolean isFoldedEqual(String folded, CharSequence value) {
+        if (folded.length() != value.length()) {
+            return false;
+        }
+        for (int index = 0; index < folded.length(); index++) {
+            if (folded.charAt(index) != SearchStringMatcher.fold(value, index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int slot(int hash) {
+        return (int) SearchLongHashSet.mix(hash) & mask;
+    }
+
+}
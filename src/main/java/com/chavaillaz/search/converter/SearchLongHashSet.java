@@ -0,0 +1,99 @@
+package com.chavaillaz.search.converter;
+
+/**
+ * Set of primitive {@code long} values, using open addressing with linear probing.
+ * <p>
+ * The set is built once from all its values and then only queried, without boxing the values.
+ * Large sets are prefixed by a {@link SearchBloomFilter}, much smaller than the table itself,
+ * so that most of the absent values are rejected without reading the table.
+ * </p>
+ */
+public class SearchLongHashSet {
+
+    /**
+     * Minimal number of values in the set to use a Bloom filter before the table.
+     */
+    public static final int BLOOM_FILTER_THRESHOLD = 10_000;
+
+    private static final long EMPTY = 0L;
+
+    private final long[] table;
+    private final int mask;
+    private final boolean containsEmpty;
+    private final SearchBloomFilter bloomFilter;
+
+    /**
+     * Creates a new set with the given values.
+     *
+     * @param values The values of the set
+     */
+    public SearchLongHashSet(long[] values) {
+        int capacity = Integer.highestOneBit(Math.max(values.length, 2) * 2 - 1) << 1;
+        this.table = new long[capacity];
+        this.mask = capacity - 1;
+
+        boolean empty = false;
+        for (long value : values) {
+            if (value == EMPTY) {
+                empty = true;
+            } else {
+                insert(value);
+            }
+        }
+        this.containsEmpty = empty;
+        this.bloomFilter = values.length >= BLOOM_FILTER_THRESHOLD ? new SearchBloomFilter(values) : null;
+    }
+
+    private void insert(long value) {
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+    }
+
+    /**
+     * Indicates if the given value is in the set.
+     *
+     * @param value The value to search
+     * @return {@link Boolean#TRUE} if the value is in the set, {@link Boolean#FALSE} otherwise
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsEmpty;
+        }
+        if (bloomFilter != null && !bloomFilter.mightContain(value)) {
+            return false;
+        }
+
+        int slot = slot(value);
+        long current;
+        while ((current = table[slot]) != EMPTY) {
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    private int slot(long value) {
+        return (int) mix(value) & mask;
+    }
+
+    /**
+     * Mixes the bits of the given value, so that close values are spread in the whole table.
+     *
+     * @param value The value to mix
+     * @return The mixed value
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+}
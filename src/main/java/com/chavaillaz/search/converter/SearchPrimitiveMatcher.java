@@ -0,0 +1,28 @@
+package com.chavaillaz.search.converter;
+
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Predicate on the values of a field that can also read the primitive value directly from the data provider.
+ *
+ * The primitive value is only read when its kind is the one compared by the matcher,
+ * other values being compared as objects, so that both ways give the same result.
+ *
+ * @see SearchDataProvider#hasLongValue(SearchExpressionField)
+ * @see SearchDataProvider#hasDoubleValue(SearchExpressionField)
+ */
+public interface SearchPrimitiveMatcher extends Predicate<Object> {
+
+    /**
+     * Indicates if the value of the given field is matching, using its primitive value when the provider has one.
+     *
+     * @param dataProvider The data provider
+     * @param field        The field for which retrieve the value
+     * @return {@link Boolean#TRUE} if the current value match the expected one, {@link Boolean#FALSE} otherwise
+     */
+    boolean test(SearchDataProvider dataProvider, SearchExpressionField field);
+
+}
@@ -0,0 +1,151 @@
+package com.chavaillaz.search.converter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton searching several needles at once in a value.
+ * <p>
+ * The needles are stored in a trie whose states are linked to their longest proper suffix also present in the trie,
+ * so that the value is read only once, whatever the number of needles.
+ * The case folding is the same as the one of {@link SearchStringMatcher}.
+ * </p>
+ */
+public class SearchStringAutomaton {
+
+    private static final int ROOT = 0;
+
+    private final boolean caseSensitive;
+    private final boolean matchingAll;
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] failures;
+    private final boolean[] terminals;
+
+    /**
+     * Creates a new automaton for the given needles.
+     *
+     * @param needles       The needles to search
+     * @param caseSensitive {@link Boolean#TRUE} if the case must be respected, {@link Boolean#FALSE} otherwise
+     */
+    public SearchStringAutomaton(List<String> needles, boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+
+        List<StringBuilder> nodeKeys = new ArrayList<>();
+        List<List<Integer>> nodeTargets = new ArrayList<>();
+        List<Boolean> nodeTerminals = new ArrayList<>();
+        nodeKeys.add(new StringBuilder());
+        nodeTargets.add(new ArrayList<>());
+        nodeTerminals.add(false);
+
+        boolean emptyNeedle = false;
+        for (String needle : needles) {
+            emptyNeedle |= needle.isEmpty();
+            int state = ROOT;
+            for (int index = 0; index < needle.length(); index++) {
+                char character = normalize(needle, index);
+                int position = nodeKeys.get(state).indexOf(String.valueOf(character));
+                if (position >= 0) {
+                    state = nodeTargets.get(state).get(position);
+                } else {
+                    int next = nodeKeys.size();
+                    nodeKeys.add(new StringBuilder());
+                    nodeTargets.add(new ArrayList<>());
+                    nodeTerminals.add(false);
+                    nodeKeys.get(state).append(character);
+                    nodeTargets.get(state).add(next);
+                    state = next;
+                }
+            }
+            nodeTerminals.set(state, true);
+        }
+        this.matchingAll = emptyNeedle;
+
+        int size = nodeKeys.size();
+        this.keys = new char[size][];
+        this.targets = new int[size][];
+        this.failures = new int[size];
+        this.terminals = new boolean[size];
+        for (int state = 0; state < size; state++) {
+            sortTransitions(state, nodeKeys.get(state), nodeTargets.get(state));
+            terminals[state] = nodeTerminals.get(state);
+        }
+        linkFailures();
+    }
+
+    private void sortTransitions(int state, StringBuilder stateKeys, List<Integer> stateTargets) {
+        Integer[] order = new Integer[stateKeys.length()];
+        for (int index = 0; index < order.length; index++) {
+            order[index] = index;
+        }
+        Arrays.sort(order, (first, second) -> Character.compare(stateKeys.charAt(first), stateKeys.charAt(second)));
+        keys[state] = new char[order.length];
+        targets[state] = new int[order.length];
+        for (int index = 0; index < order.length; index++) {
+            keys[state][index] = stateKeys.charAt(order[index]);
+            targets[state][index] = stateTargets.get(order[index]);
+        }
+    }
+
+    private void linkFailures() {
+        // Breadth-first traversal, so that the failure of a parent is known before its children
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[ROOT]) {
+            failures[child] = ROOT;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int index = 0; index < keys[state].length; index++) {
+                int child = targets[state][index];
+                int failure = failures[state];
+                int next;
+                while ((next = transition(failure, keys[state][index])) < 0 && failure != ROOT) {
+                    failure = failures[failure];
+                }
+                failures[child] = next < 0 ? ROOT : next;
+                terminals[child] |= terminals[failures[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    private int transition(int state, char character) {
+        int position = Arrays.binarySearch(keys[state], character);
+        return position < 0 ? -1 : targets[state][position];
+    }
+
+    private char normalize(CharSequence value, int index) {
+        return caseSensitive ? value.charAt(index) : SearchStringMatcher.fold(value, index);
+    }
+
+    /**
+     * Indicates if the given value contains at least one of the needles.
+     *
+     * @param value The value in which search the needles
+     * @return {@link Boolean#TRUE} if one of the needles is found, {@link Boolean#FALSE} otherwise
+     */
+    public boolean isAnyContainedIn(CharSequence value) {
+        if (matchingAll) {
+            return true;
+        }
+
+        int state = ROOT;
+        for (int index = 0; index < value.length(); index++) {
+            char character = normalize(value, index);
+            int next;
+            while ((next = transition(state, character)) < 0 && state != ROOT) {
+                state = failures[state];
+            }
+            state = next < 0 ? ROOT : next;
+            if (terminals[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.chavaillaz.search.converter;
+
+import java.util.Arrays;
+
+/**
+ * Matcher of strings against a needle prepared once, without creating any object when matching.
+ * <p>
+ * When case-insensitive, the characters are compared after a simple case folding
+ * (the lowercase of their uppercase, like {@link String#equalsIgnoreCase(String)}),
+ * with a fast path for ASCII characters. The folding does not depend on the default locale.
+ * Surrogate pairs are folded as the code point they represent, keeping their length.
+ * Substrings are searched with the Boyer-Moore-Horspool algorithm, using a skip table computed from the needle.
+ * </p>
+ */
+public class SearchStringMatcher {
+
+    private static final int TABLE_SIZE = 256;
+    private static final int TABLE_MASK = TABLE_SIZE - 1;
+
+    private final char[] needle;
+    private final boolean caseSensitive;
+    private final int[] shifts;
+
+    /**
+     * Creates a new matcher for the given needle.
+     *
+     * @param needle        The needle to search
+     * @param caseSensitive {@link Boolean#TRUE} if the case must be respected, {@link Boolean#FALSE} otherwise
+     */
+    public SearchStringMatcher(String needle, boolean caseSensitive) {
+        this.caseSensitive = caseSensitive;
+        this.needle = caseSensitive ? needle.toCharArray() : fold(needle).toCharArray();
+        this.shifts = new int[TABLE_SIZE];
+
+        // Characters are grouped by their lowest bits, keeping the smallest shift of the group
+        int length = this.needle.length;
+        Arrays.fill(shifts, length);
+        for (int index = 0; index < length - 1; index++) {
+            shifts[this.needle[index] & TABLE_MASK] = length - 1 - index;
+        }
+    }
+
+    /**
+     * Indicates if the given value contains the needle.
+     *
+     * @param value The value in which search the needle
+     * @return {@link Boolean#TRUE} if the value contains the needle, {@link Boolean#FALSE} otherwise
+     */
+    public boolean isContainedIn(CharSequence value) {
+        int length = needle.length;
+        int last = length - 1;
+        for (int end = last; end < value.length(); end += shifts[normalize(value, end) & TABLE_MASK]) {
+            int index = 0;
+            while (index < length && normalize(value, end - index) == needle[last - index]) {
+                index++;
+            }
+            if (index == length) {
+                return true;
+            }
+        }
+        return length == 0;
+    }
+
+    /**
+     * Indicates if the given value is equal to the needle.
+     *
+     * @param value The value to compare with the needle
+     * @return {@link Boolean#TRUE} if the value is equal to the needle, {@link Boolean#FALSE} otherwise
+     */
+    public boolean isEqualTo(CharSequence value) {
+        if (value.length() != needle.length) {
+            return false;
+        }
+        for (int index = 0; index < needle.length; index++) {
+            if (normalize(value, index) != needle[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char normalize(CharSequence value, int index) {
+        return caseSensitive ? value.charAt(index) : fold(value, index);
+    }
+
+    /**
+     * Indicates if the given value contains the needle, without preparing the needle.
+     *
+     * @param value         The value in which search the needle
+     * @param needle        The needle to search
+     * @param caseSensitive {@link Boolean#TRUE} if the case must be respected, {@link Boolean#FALSE} otherwise
+     * @return {@link Boolean#TRUE} if the value contains the needle, {@link Boolean#FALSE} otherwise
+     */
+    public static boolean contains(CharSequence value, CharSequence needle, boolean caseSensitive) {
+        for (int start = 0; start + needle.length() <= value.length(); start++) {
+            if (regionMatches(value, start, needle, caseSensitive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indicates if the given values are equal, without preparing them.
+     *
+     * @param value         The first value
+     * @param other         The second value
+     * @param caseSensitive {@link Boolean#TRUE} if the case must be respected, {@link Boolean#FALSE} otherwise
+     * @return {@link Boolean#TRUE} if the values are equal, {@link Boolean#FALSE} otherwise
+     */
+    public static boolean equals(CharSequence value, CharSequence other, boolean caseSensitive) {
+        return value.length() == other.length() && regionMatches(value, 0, other, caseSensitive);
+    }
+
+    private static boolean regionMatches(CharSequence value, int start, CharSequence needle, boolean caseSensitive) {
+        for (int index = 0; index < needle.length(); index++) {
+            char valueCharacter = value.charAt(start + index);
+            char needleCharacter = needle.charAt(index);
+            // Equal surrogates can still be folded differently, depending on the pair they are part of
+            boolean same = caseSensitive
+                    ? valueCharacter == needleCharacter
+                    : (valueCharacter == needleCharacter && !Character.isSurrogate(valueCharacter))
+                    || fold(value, start + index) == fold(needle, index);
+            if (!same) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Folds the case of the given character.
+     *
+     * @param character The character
+     * @return The character without case
+     */
+    public static char fold(char character) {
+        if (character < 128) {
+            return character >= 'A' && character <= 'Z' ? (char) (character + ('a' - 'A')) : character;
+        }
+        return Character.toLowerCase(Character.toUpperCase(character));
+    }
+
+    /**
+     * Folds the case of the character at the given index of the value.
+     * A character being part of a surrogate pair is folded with the code point of the pair,
+     * giving the corresponding part of the folded pair.
+     *
+     * @param value The value
+     * @param index The index of the character in the value
+     * @return The character without case
+     */
+    public static char fold(CharSequence value, int index) {
+        char character = value.charAt(index);
+        if (!Character.isSurrogate(character)) {
+            return fold(character);
+        }
+
+        if (Character.isHighSurrogate(character) && index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = foldCodePoint(Character.toCodePoint(character, value.charAt(index + 1)));
+            return Character.isSupplementaryCodePoint(codePoint) ? Character.highSurrogate(codePoint) : character;
+        } else if (Character.isLowSurrogate(character) && index > 0 && Character.isHighSurrogate(value.charAt(index - 1))) {
+            int codePoint = foldCodePoint(Character.toCodePoint(value.charAt(index - 1), character));
+            return Character.isSupplementaryCodePoint(codePoint) ? Character.lowSurrogate(codePoint) : character;
+        }
+        return character;
+    }
+
+    private static int foldCodePoint(int codePoint) {
+        return Character.toLowerCase(Character.toUpperCase(codePoint));
+    }
+
+    /**
+     * Folds the case of all the characters of the given value.
+     * The value itself is returned when none of its characters is changed by the folding.
+     *
+     * @param value The value
+     * @return The value without case
+     */
+    public static String fold(String value) {
+        int index = 0;
+        while (index < value.length() && fold(value, index) == value.charAt(index)) {
+            index++;
+        }
+        if (index == value.length()) {
+            return value;
+        }
+
+        char[] characters = value.toCharArray();
+        for (; index < characters.length; index++) {
+            characters[index] = fold(value, index);
+        }
+        return new String(characters);
+    }
+
+}
@@ -1,5 +1,11 @@
 package com.chavaillaz.search.converter;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.operator.SearchRelationalOperator;
 import com.chavaillaz.search.parser.SearchExpressionField;
 
 /**
@@ -13,6 +19,11 @@ import com.chavaillaz.search.parser.SearchExpressionField;
  */
 public class StringSearchDataConverter extends AbstractSearchDataConverter {
 
+    /**
+     * Minimal number of values in a list to search them with an automaton instead of one after the other.
+     */
+    public static final int AUTOMATON_THRESHOLD = 8;
+
     @Override
     protected Object asSingleObject(SearchExpressionField field, String value) {
         return value;
@@ -23,10 +34,101 @@ public class StringSearchDataConverter extends AbstractSearchDataConverter {
         return String.class.isAssignableFrom(clazz);
     }
 
+    /**
+     * Indicates if the values of the field are compared entirely, meaning that its default operator is
+     * {@link SearchRelationalOperator#EQUALS}. Lists of values are then matched by membership instead of containment.
+     *
+     * @param field The field concerned
+     * @return {@link Boolean#TRUE} if the values of the field are compared entirely, {@link Boolean#FALSE} otherwise
+     */
+    public boolean isExact(SearchExpressionField field) {
+        return field != null && field.getDefaultOperator() == SearchRelationalOperator.EQUALS;
+    }
+
+    @Override
+    protected boolean matchList(SearchExpressionField field, Object expected, Object current) {
+        if (isExact(field) && expected instanceof List<?> expectedValue) {
+            String currentValue = current.toString();
+            boolean caseSensitive = isCaseSensitive(field);
+            return expectedValue.stream()
+                    .map(Object::toString)
+                    .anyMatch(value -> SearchStringMatcher.equals(currentValue, value, caseSensitive));
+        }
+        return super.matchList(field, expected, current);
+    }
+
     @Override
     protected boolean matchEquals(SearchExpressionField field, Object expected, Object current) {
-        String expectedRepresentation = fieldRepresentation(field, expected);
-        String currentRepresentation = fieldRepresentation(field, current);
-        return super.matchEquals(field, expectedRepresentation, currentRepresentation);
+        return SearchStringMatcher.equals(current.toString(), expected.toString(), isCaseSensitive(field));
+    }
+
+    /**
+     * Compiles the matching of strings, preparing the expected value only once.
+     * The case-insensitive comparisons are then done without creating any object for the current values.
+     * Lists of at least {@link #AUTOMATON_THRESHOLD} values are searched with a {@link SearchStringAutomaton},
+     * reading the current values only once whatever the size of the list.
+     * Lists of exact fields (see {@link #isExact(SearchExpressionField)}) are searched in a {@link HashSet},
+     * or in a {@link SearchFoldedStringSet} when the case is ignored.
+     * Subclasses overriding {@link #matchEquals}, {@link #matchLike} or {@link #matchList} have to override this method too.
+     *
+     * @param field    The field of the current matching
+     * @param operator The operator to use for the matching
+     * @param expected The expected value given by the user
+     * @return The predicate testing the current values given by the data provider
+     */
+    @Override
+    public Predicate<Object> compile(SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        if (expected == null) {
+            return super.compile(field, operator, expected);
+        }
+
+        boolean caseSensitive = isCaseSensitive(field);
+        return switch (operator) {
+            case EQUALS -> {
+                SearchStringMatcher matcher = new SearchStringMatcher(expected.toString(), caseSensitive);
+                yield current -> current != null && matcher.isEqualTo(current.toString());
+            }
+            case LIKE -> {
+                SearchStringMatcher matcher = new SearchStringMatcher(expected.toString(), caseSensitive);
+                yield current -> current != null && matcher.isContainedIn(current.toString());
+            }
+            case LIST -> compileList(field, expected, caseSensitive);
+            default -> super.compile(field, operator, expected);
+        };
+    }
+
+    private Predicate<Object> compileList(SearchExpressionField field, Object expected, boolean caseSensitive) {
+        if (!(expected instanceof List<?> list)) {
+            return super.compile(field, SearchRelationalOperator.LIST, expected);
+        }
+
+        List<String> needles = list.stream().map(Object::toString).toList();
+        if (isExact(field) && caseSensitive) {
+            Set<String> values = new HashSet<>(needles);
+            return current -> current != null && values.contains(current.toString());
+        } else if (isExact(field)) {
+            SearchFoldedStringSet values = new SearchFoldedStringSet(needles);
+            return current -> current != null && values.contains(current.toString());
+        } else if (needles.size() < AUTOMATON_THRESHOLD) {
+            SearchStringMatcher[] matchers = needles.stream()
+                    .map(needle -> new SearchStringMatcher(needle, caseSensitive))
+                    .toArray(SearchStringMatcher[]::new);
+            return current -> {
+                if (current == null) {
+                    return false;
+                }
+                String currentValue = current.toString();
+                for (SearchStringMatcher matcher : matchers) {
+                    if (matcher.isContainedIn(currentValue)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+
+        SearchStringAutomaton automaton = new SearchStringAutomaton(needles, caseSensitive);
+        return current -> current != null && automaton.isAnyContainedIn(current.toString());
     }
-}
\ No newline at end of file
+
+}
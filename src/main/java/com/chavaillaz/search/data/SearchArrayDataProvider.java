@@ -0,0 +1,70 @@
+package com.chavaillaz.search.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Data provider for an array of values, indexed by the ordinals of the fields in their plan
+ * (see {@link SearchExpressionField#getOrdinal()}).
+ * <p>
+ * Reading the value of a field is a single array access. The values can be replaced with
+ * {@link #setValues(Object[])}, so that the same provider is reused for all the records to match.
+ * </p>
+ */
+public class SearchArrayDataProvider implements SearchDataProvider {
+
+    protected Object[] values;
+
+    /**
+     * Creates a new data provider for the given values.
+     *
+     * @param values The values of the fields, indexed by their ordinals
+     */
+    public SearchArrayDataProvider(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Gets the values of the fields.
+     *
+     * @return The values of the fields, indexed by their ordinals
+     */
+    public Object[] getValues() {
+        return values;
+    }
+
+    /**
+     * Sets the values of the fields.
+     *
+     * @param values The values of the fields, indexed by their ordinals
+     */
+    public void setValues(Object[] values) {
+        this.values = values;
+    }
+
+    @Override
+    public Object getFieldValue(SearchExpressionField field) {
+        int ordinal = field.getOrdinal();
+        return ordinal >= 0 && ordinal < values.length ? values[ordinal] : null;
+    }
+
+    @Override
+    public List<Object> getAllFieldValue() {
+        return new ArrayList<>(Arrays.asList(values));
+    }
+
+    @Override
+    public boolean anyFieldValueMatch(Predicate<Object> predicate) {
+        for (Object value : values) {
+            if (predicate.test(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
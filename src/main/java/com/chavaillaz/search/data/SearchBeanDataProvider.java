@@ -0,0 +1,105 @@
+package com.chavaillaz.search.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.data.SearchBeanDataProviderFactory.SearchBeanAccessor;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Data provider reading the properties of a bean, created by a {@link SearchBeanDataProviderFactory}.
+ * The bean can be replaced with {@link #setBean(Object)}, so that the same provider is reused for all the beans to match.
+ *
+ * @param <T> The type of the bean
+ */
+public class SearchBeanDataProvider<T> implements SearchDataProvider {
+
+    private final SearchBeanDataProviderFactory<T> factory;
+    private T bean;
+
+    /**
+     * Creates a new data provider for the given bean.
+     *
+     * @param factory The factory containing the accessors of the properties
+     * @param bean    The bean for which search specific expression
+     */
+    public SearchBeanDataProvider(SearchBeanDataProviderFactory<T> factory, T bean) {
+        this.factory = factory;
+        this.bean = bean;
+    }
+
+    /**
+     * Gets the bean.
+     *
+     * @return The bean for which search specific expression
+     */
+    public T getBean() {
+        return bean;
+    }
+
+    /**
+     * Sets the bean.
+     *
+     * @param bean The bean for which search specific expression
+     */
+    public void setBean(T bean) {
+        this.bean = bean;
+    }
+
+    @Override
+    public Object getFieldValue(SearchExpressionField field) {
+        SearchBeanAccessor accessor = factory.getAccessor(field);
+        return accessor != null ? accessor.value().apply(bean) : null;
+    }
+
+    @Override
+    public List<?> getAllFieldValue() {
+        List<Object> values = new ArrayList<>();
+        for (SearchBeanAccessor accessor : factory.getAllAccessors()) {
+            values.add(accessor.value().apply(bean));
+        }
+        return values;
+    }
+
+    @Override
+    public boolean anyFieldValueMatch(Predicate<Object> predicate) {
+        for (SearchBeanAccessor accessor : factory.getAllAccessors()) {
+            if (predicate.test(accessor.value().apply(bean))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasLongValue(SearchExpressionField field) {
+        SearchBeanAccessor accessor = factory.getAccessor(field);
+        return accessor != null && accessor.longValue() != null;
+    }
+
+    @Override
+    public boolean hasDoubleValue(SearchExpressionField field) {
+        SearchBeanAccessor accessor = factory.getAccessor(field);
+        return accessor != null && accessor.doubleValue() != null;
+    }
+
+    @Override
+    public long getLong(SearchExpressionField field) {
+        SearchBeanAccessor accessor = factory.getAccessor(field);
+        if (accessor != null && accessor.longValue() != null) {
+            return accessor.longValue().applyAsLong(bean);
+        }
+        return SearchDataProvider.super.getLong(field);
+    }
+
+    @Override
+    public double getDouble(SearchExpressionField field) {
+        SearchBeanAccessor accessor = factory.getAccessor(field);
+        if (accessor != null && accessor.doubleValue() != null) {
+            return accessor.doubleValue().applyAsDouble(bean);
+        }
+        return SearchDataProvider.super.getDouble(field);
+    }
+
+}
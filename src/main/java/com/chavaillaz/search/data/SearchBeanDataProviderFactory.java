@@ -0,0 +1,239 @@
+package com.chavaillaz.search.data;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.chavaillaz.search.SearchException;
+import com.chavaillaz.search.parser.SearchExpressionField;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+
+/**
+ * Factory of data providers reading the properties of beans of a given class.
+ * <p>
+ * The class is inspected only once: the components of records, or the getters of other classes
+ * ({@code getName()}, or {@code isName()} for booleans), are turned into accessors generated with
+ * {@link LambdaMetafactory}, so that no reflective call is made when reading the values of the beans.
+ * When a lambda cannot be generated for an accessor, its method handle is invoked instead.
+ * Properties of primitive numbers are also readable without boxing them
+ * (see {@link SearchDataProvider#hasLongValue(SearchExpressionField)} and
+ * {@link SearchDataProvider#hasDoubleValue(SearchExpressionField)}).
+ * </p>
+ * <p>
+ * The accessors of the fields of the plan are stored by ordinal (see {@link SearchExpressionField#getOrdinal()}),
+ * other fields are searched by name. The factory can be shared between threads.
+ * </p>
+ *
+ * @param <T> The type of the beans
+ */
+@Slf4j
+public class SearchBeanDataProviderFactory<T> {
+
+    private final Class<T> type;
+    private final Map<String, SearchBeanAccessor> accessors;
+    private final SearchBeanAccessor[] allAccessors;
+    private final SearchExpressionField[] planFields;
+    private final SearchBeanAccessor[] planAccessors;
+
+    /**
+     * Creates a new factory for the beans of the given class.
+     *
+     * @param type The class of the beans
+     * @param plan The plan containing the fields searched in the beans
+     */
+    public SearchBeanDataProviderFactory(Class<T> type, SearchExpressionPlan plan) {
+        this.type = type;
+        this.accessors = findAccessors(type);
+        this.allAccessors = accessors.values().toArray(SearchBeanAccessor[]::new);
+        this.planFields = new SearchExpressionField[plan.getFieldCount()];
+        this.planAccessors = new SearchBeanAccessor[plan.getFieldCount()];
+        for (SearchExpressionField field : plan.getFields()) {
+            int ordinal = field.getOrdinal();
+            if (ordinal >= 0 && ordinal < planFields.length) {
+                planFields[ordinal] = field;
+                planAccessors[ordinal] = accessors.get(field.getName());
+            }
+        }
+    }
+
+    /**
+     * Gets the class of the beans.
+     *
+     * @return The class of the beans
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Creates a new data provider for the given bean.
+     *
+     * @param bean The bean for which search specific expression
+     * @return The data provider reading the properties of the bean
+     */
+    public SearchBeanDataProvider<T> create(T bean) {
+        return new SearchBeanDataProvider<>(this, bean);
+    }
+
+    /**
+     * Gets the accessor of the given field.
+     *
+     * @param field The field for which retrieve the accessor
+     * @return The accessor of the field, or {@code null} if the beans have no such property
+     */
+    SearchBeanAccessor getAccessor(SearchExpressionField field) {
+        int ordinal = field.getOrdinal();
+        if (ordinal >= 0 && ordinal < planFields.length && planFields[ordinal] == field) {
+            return planAccessors[ordinal];
+        }
+        return accessors.get(field.getName());
+    }
+
+    /**
+     * Gets the accessors of all the properties of the beans.
+     *
+     * @return The accessors of all properties
+     */
+    SearchBeanAccessor[] getAllAccessors() {
+        return allAccessors;
+    }
+
+    private static Map<String, SearchBeanAccessor> findAccessors(Class<?> type) {
+        MethodHandles.Lookup lookup;
+        try {
+            lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new SearchException("Cannot access the properties of " + type, e);
+        }
+
+        Map<String, SearchBeanAccessor> accessors = new LinkedHashMap<>();
+        for (Map.Entry<String, Method> property : findProperties(type).entrySet()) {
+            try {
+                accessors.put(property.getKey(), createAccessor(lookup, type, property.getValue()));
+            } catch (IllegalAccessException e) {
+                throw new SearchException("Cannot access the property " + property.getKey() + " of " + type, e);
+            }
+        }
+        return accessors;
+    }
+
+    private static Map<String, Method> findProperties(Class<?> type) {
+        Map<String, Method> properties = new LinkedHashMap<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                properties.put(component.getName(), component.getAccessor());
+            }
+            return properties;
+        }
+
+        for (Method method : type.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())
+                    || method.getParameterCount() > 0
+                    || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String name = method.getName();
+            if (name.startsWith("get") && name.length() > 3 && method.getReturnType() != void.class) {
+                properties.put(propertyName(name.substring(3)), method);
+            } else if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+                properties.put(propertyName(name.substring(2)), method);
+            }
+        }
+        return properties;
+    }
+
+    private static String propertyName(String name) {
+        // Same rule as the bean introspection: names starting with two uppercase letters are kept as they are
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static SearchBeanAccessor createAccessor(MethodHandles.Lookup lookup, Class<?> type, Method method) throws IllegalAccessException {
+        MethodHandle handle = lookup.unreflect(method);
+        Class<?> returnType = method.getReturnType();
+
+        Function<Object, Object> value = createLambda(lookup, type, handle, Function.class, "apply",
+                MethodType.methodType(Object.class, Object.class));
+        if (value == null) {
+            MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+            value = bean -> invoke(generic, bean);
+        }
+
+        ToLongFunction<Object> longValue = null;
+        ToDoubleFunction<Object> doubleValue = null;
+        if (returnType == long.class || returnType == int.class || returnType == short.class || returnType == byte.class) {
+            longValue = createLambda(lookup, type, handle, ToLongFunction.class, "applyAsLong",
+                    MethodType.methodType(long.class, Object.class));
+            if (longValue == null) {
+                MethodHandle primitive = handle.asType(MethodType.methodType(long.class, Object.class));
+                longValue = bean -> (long) invoke(primitive, bean);
+            }
+        } else if (returnType == double.class || returnType == float.class) {
+            doubleValue = createLambda(lookup, type, handle, ToDoubleFunction.class, "applyAsDouble",
+                    MethodType.methodType(double.class, Object.class));
+            if (doubleValue == null) {
+                MethodHandle primitive = handle.asType(MethodType.methodType(double.class, Object.class));
+                doubleValue = bean -> (double) invoke(primitive, bean);
+            }
+        }
+
+        return new SearchBeanAccessor(value, longValue, doubleValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F createLambda(MethodHandles.Lookup lookup, Class<?> type, MethodHandle handle,
+                                      Class<? super F> functionType, String functionMethod, MethodType erasedType) {
+        try {
+            MethodType instantiatedType = erasedType.changeParameterType(0, type);
+            if (!erasedType.returnType().isPrimitive()) {
+                instantiatedType = instantiatedType.changeReturnType(handle.type().wrap().returnType());
+            }
+            CallSite site = LambdaMetafactory.metafactory(lookup, functionMethod,
+                    MethodType.methodType(functionType), erasedType, handle, instantiatedType);
+            return (F) site.getTarget().invoke();
+        } catch (Throwable e) {
+            log.debug("Cannot generate the accessor {} of {}, using its method handle", handle, type, e);
+            return null;
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Object bean) {
+        try {
+            return handle.invoke(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SearchException("Error during the access of a property of " + bean, e);
+        }
+    }
+
+    /**
+     * Accessors of a property of the beans.
+     *
+     * @param value       The accessor of the value
+     * @param longValue   The accessor of the value as a primitive {@code long}, or {@code null} if not integral
+     * @param doubleValue The accessor of the value as a primitive {@code double}, or {@code null} if not floating-point
+     */
+    record SearchBeanAccessor(Function<Object, Object> value,
+                              ToLongFunction<Object> longValue,
+                              ToDoubleFunction<Object> doubleValue) {
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.chavaillaz.search.data;
+
+import java.util.BitSet;
+
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Column of values of a field in a {@link SearchColumnarBatch}.
+ */
+public interface SearchColumn {
+
+    /**
+     * Gets the number of values in the column.
+     *
+     * @return The number of values
+     */
+    int size();
+
+    /**
+     * Gets the value of the given row as an object.
+     *
+     * @param row The index of the row
+     * @return The value of the row
+     */
+    Object getValue(int row);
+
+    /**
+     * Selects all the rows of the column whose value is matching the expected one with the given operator.
+     * The column only evaluates the operators it can process without converting each value to an object.
+     *
+     * @param converter The converter of the field
+     * @param field     The field of the column
+     * @param operator  The operator to use for the matching
+     * @param expected  The expected value given by the user
+     * @return The indexes of the matching rows, or {@code null} if the column cannot evaluate the operator
+     */
+    BitSet select(SearchDataConverter converter, SearchExpressionField field, SearchRelationalOperator operator, Object expected);
+
+}
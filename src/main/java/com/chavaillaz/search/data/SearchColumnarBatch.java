@@ -0,0 +1,156 @@
+package com.chavaillaz.search.data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.SearchException;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Batch of records stored by columns, one column per field.
+ * <p>
+ * Operations can be evaluated on the whole batch at once with {@link com.chavaillaz.search.operation.SearchOperation#match(SearchColumnarBatch)},
+ * each relational operation selecting the rows of its column in a bitmap.
+ * </p>
+ */
+public class SearchColumnarBatch {
+
+    private final int size;
+    private final Map<SearchExpressionField, SearchColumn> columns;
+
+    /**
+     * Creates a new batch with the given number of rows.
+     *
+     * @param size The number of rows of every column
+     */
+    public SearchColumnarBatch(int size) {
+        this.size = size;
+        this.columns = new LinkedHashMap<>();
+    }
+
+    /**
+     * Gets the number of rows in the batch.
+     *
+     * @return The number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds the column of the given field.
+     *
+     * @param field  The field of the column
+     * @param column The column
+     */
+    public void addColumn(SearchExpressionField field, SearchColumn column) {
+        if (column.size() != size) {
+            throw new SearchException("Column of field " + field.getName() + " has " + column.size() + " rows instead of " + size);
+        }
+        this.columns.put(field, column);
+    }
+
+    /**
+     * Adds a column of integral numbers for the given field.
+     *
+     * @param field  The field of the column
+     * @param values The values of the column
+     */
+    public void addLongColumn(SearchExpressionField field, long[] values) {
+        addColumn(field, new SearchLongColumn(values));
+    }
+
+    /**
+     * Adds a column of decimal numbers for the given field.
+     *
+     * @param field  The field of the column
+     * @param values The values of the column
+     */
+    public void addDoubleColumn(SearchExpressionField field, double[] values) {
+        addColumn(field, new SearchDoubleColumn(values));
+    }
+
+    /**
+     * Adds a dictionary-encoded column of strings for the given field.
+     *
+     * @param field  The field of the column
+     * @param values The values of the column
+     */
+    public void addStringColumn(SearchExpressionField field, String[] values) {
+        addColumn(field, new SearchDictionaryColumn(values));
+    }
+
+    /**
+     * Gets the column of the given field.
+     *
+     * @param field The field of the column
+     * @return The column found or {@code null} otherwise
+     */
+    public SearchColumn getColumn(SearchExpressionField field) {
+        return columns.get(field);
+    }
+
+    /**
+     * Gets a data provider reading the values of the given row.
+     * Used to evaluate the operations that cannot be processed by the columns.
+     *
+     * @param row The index of the row
+     * @return The data provider of the row
+     */
+    public SearchDataProvider getRow(int row) {
+        return new SearchDataProvider() {
+
+            @Override
+            public Object getFieldValue(SearchExpressionField field) {
+                SearchColumn column = columns.get(field);
+                return column != null ? column.getValue(row) : null;
+            }
+
+            @Override
+            public List<?> getAllFieldValue() {
+                List<Object> values = new ArrayList<>(columns.size());
+                columns.values().forEach(column -> values.add(column.getValue(row)));
+                return values;
+            }
+
+            @Override
+            public boolean anyFieldValueMatch(Predicate<Object> predicate) {
+                for (SearchColumn column : columns.values()) {
+                    if (predicate.test(column.getValue(row))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public boolean hasLongValue(SearchExpressionField field) {
+                return columns.get(field) instanceof SearchLongColumn;
+            }
+
+            @Override
+            public boolean hasDoubleValue(SearchExpressionField field) {
+                return columns.get(field) instanceof SearchDoubleColumn;
+            }
+
+            @Override
+            public long getLong(SearchExpressionField field) {
+                return columns.get(field) instanceof SearchLongColumn longColumn
+                        ? longColumn.getLong(row)
+                        : SearchDataProvider.super.getLong(field);
+            }
+
+            @Override
+            public double getDouble(SearchExpressionField field) {
+                return columns.get(field) instanceof SearchDoubleColumn doubleColumn
+                        ? doubleColumn.getDouble(row)
+                        : SearchDataProvider.super.getDouble(field);
+            }
+
+        };
+    }
+
+}
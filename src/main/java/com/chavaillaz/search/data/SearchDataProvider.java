@@ -1,6 +1,7 @@
 package com.chavaillaz.search.data;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 import com.chavaillaz.search.parser.SearchExpressionField;
 
@@ -24,4 +25,76 @@ public interface SearchDataProvider {
      */
     List<?> getAllFieldValue();
 
+    /**
+     * Indicates if at least one of the values of all fields matches the given predicate.
+     * By default, the values are read from {@link #getAllFieldValue()}.
+     * Implementations should iterate over their values directly, without copying them.
+     *
+     * @param predicate The predicate to test the values with
+     * @return {@link Boolean#TRUE} if one of the values matches, {@link Boolean#FALSE} otherwise
+     */
+    default boolean anyFieldValueMatch(Predicate<Object> predicate) {
+        for (Object value : getAllFieldValue()) {
+            if (predicate.test(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indicates if all the values of all fields match the given predicate.
+     *
+     * @param predicate The predicate to test the values with
+     * @return {@link Boolean#TRUE} if all the values match, {@link Boolean#FALSE} otherwise
+     * @see #anyFieldValueMatch(Predicate)
+     */
+    default boolean allFieldValueMatch(Predicate<Object> predicate) {
+        return !anyFieldValueMatch(predicate.negate());
+    }
+
+    /**
+     * Indicates if the value of the given field is available as a primitive integral number.
+     * In this case, the value can be read with {@link #getLong(SearchExpressionField)} without creating any object.
+     *
+     * @param field The field for which retrieve the value
+     * @return {@link Boolean#TRUE} if the value exists as a primitive {@code long}, {@link Boolean#FALSE} otherwise
+     */
+    default boolean hasLongValue(SearchExpressionField field) {
+        return false;
+    }
+
+    /**
+     * Indicates if the value of the given field is available as a primitive floating-point number.
+     * In this case, the value can be read with {@link #getDouble(SearchExpressionField)} without creating any object.
+     *
+     * @param field The field for which retrieve the value
+     * @return {@link Boolean#TRUE} if the value exists as a primitive {@code double}, {@link Boolean#FALSE} otherwise
+     */
+    default boolean hasDoubleValue(SearchExpressionField field) {
+        return false;
+    }
+
+    /**
+     * Gets the value of the given field as a primitive {@code long}.
+     * The value is only exact when {@link #hasLongValue(SearchExpressionField)} is {@link Boolean#TRUE}.
+     *
+     * @param field The field for which retrieve the value
+     * @return The value of the given field
+     */
+    default long getLong(SearchExpressionField field) {
+        return ((Number) getFieldValue(field)).longValue();
+    }
+
+    /**
+     * Gets the value of the given field as a primitive {@code double}.
+     * The value is only exact when {@link #hasDoubleValue(SearchExpressionField)} is {@link Boolean#TRUE}.
+     *
+     * @param field The field for which retrieve the value
+     * @return The value of the given field
+     */
+    default double getDouble(SearchExpressionField field) {
+        return ((Number) getFieldValue(field)).doubleValue();
+    }
+
 }
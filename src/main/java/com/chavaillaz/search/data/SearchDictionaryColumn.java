@@ -0,0 +1,88 @@
+package com.chavaillaz.search.data;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Column of strings stored as codes referencing a dictionary of their distinct values.
+ * <p>
+ * Every operator is evaluated once per distinct value with the converter of the field,
+ * the rows are then selected by comparing their codes.
+ * This is especially efficient for columns with a low cardinality.
+ * </p>
+ */
+public class SearchDictionaryColumn implements SearchColumn {
+
+    private static final int NULL_CODE = -1;
+
+    private final String[] dictionary;
+    private final int[] codes;
+
+    /**
+     * Creates a new column by encoding the given values.
+     *
+     * @param values The values of the column, can contain {@code null}
+     */
+    public SearchDictionaryColumn(String[] values) {
+        Map<String, Integer> distinctValues = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        this.codes = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            String value = values[row];
+            if (value == null) {
+                codes[row] = NULL_CODE;
+            } else {
+                codes[row] = distinctValues.computeIfAbsent(value, key -> {
+                    entries.add(key);
+                    return entries.size() - 1;
+                });
+            }
+        }
+        this.dictionary = entries.toArray(new String[0]);
+    }
+
+    /**
+     * Gets the number of distinct values in the column.
+     *
+     * @return The size of the dictionary
+     */
+    public int getCardinality() {
+        return dictionary.length;
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return codes[row] == NULL_CODE ? null : dictionary[codes[row]];
+    }
+
+    @Override
+    public BitSet select(SearchDataConverter converter, SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        Predicate<Object> matcher = converter.compile(field, operator, expected);
+        boolean[] matchingCodes = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            matchingCodes[code] = matcher.test(dictionary[code]);
+        }
+
+        BitSet selection = new BitSet(codes.length);
+        for (int row = 0; row < codes.length; row++) {
+            if (codes[row] != NULL_CODE && matchingCodes[codes[row]]) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.chavaillaz.search.data;
+
+import java.util.BitSet;
+import java.util.List;
+
+import com.chavaillaz.search.converter.NumberSearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.converter.SearchLongHashSet;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Column of decimal numbers stored as primitive {@code double} values.
+ * <p>
+ * Equality and intervals are evaluated directly on the primitive values when the expected values are
+ * floating-point numbers, with the same ordering as {@link Double#compare(double, double)}.
+ * Values are given as {@link Double} when read as objects.
+ * </p>
+ */
+public class SearchDoubleColumn implements SearchColumn {
+
+    private final double[] values;
+
+    /**
+     * Creates a new column with the given values.
+     *
+     * @param values The values of the column
+     */
+    public SearchDoubleColumn(double[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Gets the primitive value of the given row.
+     *
+     * @param row The index of the row
+     * @return The value of the row
+     */
+    public double getDouble(int row) {
+        return values[row];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return values[row];
+    }
+
+    @Override
+    public BitSet select(SearchDataConverter converter, SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        if (!(converter instanceof NumberSearchDataConverter)) {
+            return null;
+        }
+
+        if (operator == SearchRelationalOperator.EQUALS && isFloating(expected)) {
+            return selectInterval(((Number) expected).doubleValue(), ((Number) expected).doubleValue());
+        } else if (operator == SearchRelationalOperator.INTERVAL
+                && expected instanceof List<?> interval
+                && isFloating(interval.get(0))
+                && isFloating(interval.get(1))) {
+            double start = ((Number) interval.get(0)).doubleValue();
+            double end = ((Number) interval.get(1)).doubleValue();
+            return Double.compare(start, end) <= 0 ? selectInterval(start, end) : selectInterval(end, start);
+        } else if (operator == SearchRelationalOperator.LIST
+                && expected instanceof List<?> list
+                && list.stream().allMatch(SearchDoubleColumn::isFloating)) {
+            return selectList(new SearchLongHashSet(list.stream().mapToLong(value -> Double.doubleToLongBits(((Number) value).doubleValue())).toArray()));
+        }
+
+        return null;
+    }
+
+    private BitSet selectInterval(double minimum, double maximum) {
+        BitSet selection = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (Double.compare(values[row], minimum) >= 0 && Double.compare(values[row], maximum) <= 0) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    private BitSet selectList(SearchLongHashSet set) {
+        BitSet selection = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (set.contains(Double.doubleToLongBits(values[row]))) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    private static boolean isFloating(Object value) {
+        return value instanceof Double || value instanceof Float;
+    }
+
+}
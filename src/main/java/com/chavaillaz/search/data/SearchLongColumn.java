@@ -0,0 +1,102 @@
+package com.chavaillaz.search.data;
+
+import java.math.BigInteger;
+import java.util.BitSet;
+import java.util.List;
+
+import com.chavaillaz.search.converter.NumberSearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.converter.SearchLongHashSet;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Column of integral numbers stored as primitive {@code long} values.
+ * <p>
+ * Equality and intervals are evaluated directly on the primitive values when the expected values are integral numbers.
+ * Values are compared numerically, whatever the type of the field, and are given as {@link Long} when read as objects.
+ * </p>
+ */
+public class SearchLongColumn implements SearchColumn {
+
+    private final long[] values;
+
+    /**
+     * Creates a new column with the given values.
+     *
+     * @param values The values of the column
+     */
+    public SearchLongColumn(long[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Gets the primitive value of the given row.
+     *
+     * @param row The index of the row
+     * @return The value of the row
+     */
+    public long getLong(int row) {
+        return values[row];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public Object getValue(int row) {
+        return values[row];
+    }
+
+    @Override
+    public BitSet select(SearchDataConverter converter, SearchExpressionField field, SearchRelationalOperator operator, Object expected) {
+        if (!(converter instanceof NumberSearchDataConverter)) {
+            return null;
+        }
+
+        if (operator == SearchRelationalOperator.EQUALS && isIntegral(expected)) {
+            return selectInterval(((Number) expected).longValue(), ((Number) expected).longValue());
+        } else if (operator == SearchRelationalOperator.INTERVAL
+                && expected instanceof List<?> interval
+                && isIntegral(interval.get(0))
+                && isIntegral(interval.get(1))) {
+            long start = ((Number) interval.get(0)).longValue();
+            long end = ((Number) interval.get(1)).longValue();
+            return selectInterval(Math.min(start, end), Math.max(start, end));
+        } else if (operator == SearchRelationalOperator.LIST
+                && expected instanceof List<?> list
+                && list.stream().allMatch(SearchLongColumn::isIntegral)) {
+            return selectList(new SearchLongHashSet(list.stream().mapToLong(value -> ((Number) value).longValue()).toArray()));
+        }
+
+        return null;
+    }
+
+    private BitSet selectInterval(long minimum, long maximum) {
+        BitSet selection = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] >= minimum && values[row] <= maximum) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    private BitSet selectList(SearchLongHashSet set) {
+        BitSet selection = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (set.contains(values[row])) {
+                selection.set(row);
+            }
+        }
+        return selection;
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte
+                || (value instanceof BigInteger bigInteger && bigInteger.bitLength() < Long.SIZE);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.chavaillaz.search.data;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import com.chavaillaz.search.parser.SearchExpressionField;
 
@@ -34,4 +35,14 @@ public class SearchMapDataProvider<T> implements SearchDataProvider {
         return new ArrayList<>(data.values());
     }
 
+    @Override
+    public boolean anyFieldValueMatch(Predicate<Object> predicate) {
+        for (T value : data.values()) {
+            if (predicate.test(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
 }
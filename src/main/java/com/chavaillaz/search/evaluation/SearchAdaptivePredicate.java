@@ -0,0 +1,217 @@
+package com.chavaillaz.search.evaluation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.operation.SearchLogicalOperation;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.operator.SearchLogicalOperator;
+
+/**
+ * Predicate evaluating a search operation while reordering the children of its logical operations
+ * according to the statistics collected during the evaluations.
+ * The children are initially in their static evaluation order, see {@link SearchLogicalOperation#getEvaluationOrder()}.
+ * <p>
+ * One evaluation out of the sample rate is sampled: the children of the logical operations reached by the evaluation,
+ * which still stops as soon as the result is known, are then measured with the time they take and their result.
+ * Every reorder interval of sampled evaluations, the children of a logical operation are sorted by their cost divided
+ * by the probability that they decide the result (being false for a conjunction, true for a disjunction),
+ * both estimated from the evaluations in which they were reached, so that the cheapest and most decisive ones
+ * are evaluated first. A child never reached yet is tried first at the next reordering.
+ * </p>
+ * <p>
+ * The statistics of the children are halved each time they are reordered, so that the recent evaluations weigh more
+ * than the old ones and the order keeps adapting when the data changes.
+ * </p>
+ * <p>
+ * The reordered children are published as a new array, so that concurrent evaluations always see a complete order.
+ * The predicate can therefore be shared between threads.
+ * </p>
+ */
+public class SearchAdaptivePredicate implements Predicate<SearchDataProvider> {
+
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+    public static final int DEFAULT_REORDER_INTERVAL = 256;
+
+    private final Node root;
+    private final int sampleRate;
+    private final int reorderInterval;
+
+    /**
+     * Creates a new adaptive predicate for the given operation with the default sample rate and reorder interval.
+     *
+     * @param operation The search operation to evaluate
+     */
+    public SearchAdaptivePredicate(SearchOperation operation) {
+        this(operation, DEFAULT_SAMPLE_RATE, DEFAULT_REORDER_INTERVAL);
+    }
+
+    /**
+     * Creates a new adaptive predicate for the given operation.
+     * The operation is compiled, so that its later modifications are not taken into account.
+     *
+     * @param operation       The search operation to evaluate
+     * @param sampleRate      The number of evaluations for each sampled one
+     * @param reorderInterval The number of sampled evaluations of a logical operation between two reorderings of its children
+     */
+    public SearchAdaptivePredicate(SearchOperation operation, int sampleRate, int reorderInterval) {
+        this.sampleRate = Math.max(sampleRate, 1);
+        this.reorderInterval = Math.max(reorderInterval, 1);
+        this.root = createNode(operation);
+    }
+
+    private Node createNode(SearchOperation operation) {
+        if (operation instanceof SearchLogicalOperation logicalOperation) {
+            return new LogicalNode(logicalOperation.getOperator(), logicalOperation.getEvaluationOrder().stream()
+                    .map(this::createNode)
+                    .toArray(Node[]::new));
+        }
+        return new LeafNode(operation.compile());
+    }
+
+    @Override
+    public boolean test(SearchDataProvider dataProvider) {
+        boolean sampled = sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        return root.test(dataProvider, sampled);
+    }
+
+    /**
+     * Element of the evaluated tree, with the statistics of its evaluations measured by its parent.
+     */
+    private abstract static class Node {
+
+        protected final LongAdder evaluations = new LongAdder();
+        protected final LongAdder positives = new LongAdder();
+        protected final LongAdder nanos = new LongAdder();
+
+        abstract boolean test(SearchDataProvider dataProvider, boolean sampled);
+
+        void record(long duration, boolean result) {
+            nanos.add(duration);
+            evaluations.increment();
+            if (result) {
+                positives.increment();
+            }
+        }
+
+        /**
+         * Halves the statistics of the node. Evaluations running concurrently can be partially lost,
+         * which only slightly changes the estimates.
+         */
+        void decay() {
+            halve(evaluations);
+            halve(positives);
+            halve(nanos);
+        }
+
+        private static void halve(LongAdder adder) {
+            long sum = adder.sum();
+            adder.add(sum / 2 - sum);
+        }
+
+        /**
+         * Gets the rank of the node among its siblings, the lowest being evaluated first.
+         *
+         * @param decisive The result deciding the result of the parent
+         * @return The expected cost of the node divided by the probability that it decides the result
+         */
+        double rank(boolean decisive) {
+            long count = evaluations.sum();
+            if (count == 0) {
+                return 0;
+            }
+            double cost = (double) nanos.sum() / count;
+            double probability = (double) positives.sum() / count;
+            return cost / Math.max(decisive ? probability : 1 - probability, 1e-6);
+        }
+
+    }
+
+    private static class LeafNode extends Node {
+
+        private final Predicate<SearchDataProvider> predicate;
+
+        LeafNode(Predicate<SearchDataProvider> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean test(SearchDataProvider dataProvider, boolean sampled) {
+            return predicate.test(dataProvider);
+        }
+
+    }
+
+    private class LogicalNode extends Node {
+
+        private final boolean decisive;
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicBoolean reordering = new AtomicBoolean();
+        private volatile Node[] children;
+
+        LogicalNode(SearchLogicalOperator operator, Node[] children) {
+            this.decisive = operator == SearchLogicalOperator.OR;
+            this.children = children;
+        }
+
+        @Override
+        boolean test(SearchDataProvider dataProvider, boolean sampled) {
+            Node[] current = children;
+            if (!sampled) {
+                for (Node child : current) {
+                    if (child.test(dataProvider, false) == decisive) {
+                        return decisive;
+                    }
+                }
+                return !decisive;
+            }
+
+            boolean result = !decisive;
+            for (Node child : current) {
+                long start = System.nanoTime();
+                boolean childResult = child.test(dataProvider, true);
+                child.record(System.nanoTime() - start, childResult);
+                if (childResult == decisive) {
+                    result = decisive;
+                    break;
+                }
+            }
+
+            if (samples.incrementAndGet() % reorderInterval == 0) {
+                reorder();
+            }
+            return result;
+        }
+
+        private void reorder() {
+            if (reordering.compareAndSet(false, true)) {
+                try {
+                    Node[] reordered = children.clone();
+                    double[] ranks = new double[reordered.length];
+                    for (int index = 0; index < reordered.length; index++) {
+                        ranks[index] = reordered[index].rank(decisive);
+                    }
+                    Integer[] order = new Integer[reordered.length];
+                    Arrays.setAll(order, index -> index);
+                    Arrays.sort(order, Comparator.comparingDouble(index -> ranks[index]));
+                    Node[] sorted = new Node[reordered.length];
+                    Arrays.setAll(sorted, index -> reordered[order[index]]);
+                    for (Node child : sorted) {
+                        child.decay();
+                    }
+                    children = sorted;
+                } finally {
+                    reordering.set(false);
+                }
+            }
+        }
+
+    }
+
+}
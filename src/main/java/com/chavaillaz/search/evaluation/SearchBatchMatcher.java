@@ -0,0 +1,137 @@
+package com.chavaillaz.search.evaluation;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.metrics.SearchMetrics;
+import com.chavaillaz.search.operation.SearchOperation;
+
+/**
+ * Matcher evaluating a search operation against a batch of data providers.
+ * <p>
+ * The result is a {@link BitSet} in which the index of every matching data provider is set.
+ * Batches larger than the sequential threshold are split and evaluated in parallel in the given {@link ForkJoinPool}.
+ * Each task works on its own range of 64 data providers, so that they never write the same word of the result.
+ * </p>
+ */
+public class SearchBatchMatcher {
+
+    public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 8192;
+
+    private final Predicate<SearchDataProvider> predicate;
+    private final ForkJoinPool pool;
+    private final int sequentialThreshold;
+
+    /**
+     * Creates a new batch matcher for the given operation using the common pool.
+     *
+     * @param operation The search operation to evaluate
+     */
+    public SearchBatchMatcher(SearchOperation operation) {
+        this(operation, ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Creates a new batch matcher for the given operation.
+     * Each evaluation of a data provider is reported to {@link SearchMetrics} when observed.
+     *
+     * @param operation           The search operation to evaluate
+     * @param pool                The pool in which large batches are evaluated
+     * @param sequentialThreshold The number of data providers under which a batch is evaluated sequentially
+     */
+    public SearchBatchMatcher(SearchOperation operation, ForkJoinPool pool, int sequentialThreshold) {
+        this(SearchMetrics.observe(null, operation, operation.compile()), pool, sequentialThreshold);
+    }
+
+    /**
+     * Creates a new batch matcher for the given compiled operation.
+     * The predicate must be safe to evaluate concurrently.
+     *
+     * @param predicate           The compiled search operation to evaluate
+     * @param pool                The pool in which large batches are evaluated
+     * @param sequentialThreshold The number of data providers under which a batch is evaluated sequentially
+     */
+    public SearchBatchMatcher(Predicate<SearchDataProvider> predicate, ForkJoinPool pool, int sequentialThreshold) {
+        this.predicate = predicate;
+        this.pool = pool;
+        this.sequentialThreshold = Math.max(sequentialThreshold, Long.SIZE);
+    }
+
+    /**
+     * Evaluates the operation for each data provider of the given list.
+     *
+     * @param dataProviders The list of data providers
+     * @return The indexes of the data providers matching the operation
+     */
+    public BitSet matchAll(List<? extends SearchDataProvider> dataProviders) {
+        if (dataProviders instanceof RandomAccess) {
+            return matchAll(dataProviders::get, dataProviders.size());
+        } else {
+            return matchAll(dataProviders.toArray(new SearchDataProvider[0]));
+        }
+    }
+
+    /**
+     * Evaluates the operation for each data provider of the given array.
+     *
+     * @param dataProviders The array of data providers
+     * @return The indexes of the data providers matching the operation
+     */
+    public BitSet matchAll(SearchDataProvider[] dataProviders) {
+        return matchAll(index -> dataProviders[index], dataProviders.length);
+    }
+
+    private BitSet matchAll(IntFunction<? extends SearchDataProvider> dataProviders, int size) {
+        long[] words = new long[(size + Long.SIZE - 1) / Long.SIZE];
+        if (size <= sequentialThreshold) {
+            match(dataProviders, words, 0, size);
+        } else {
+            pool.invoke(new MatchTask(dataProviders, words, 0, size));
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private void match(IntFunction<? extends SearchDataProvider> dataProviders, long[] words, int from, int to) {
+        for (int index = from; index < to; index++) {
+            if (predicate.test(dataProviders.apply(index))) {
+                words[index / Long.SIZE] |= 1L << index;
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private class MatchTask extends RecursiveAction {
+
+        private final IntFunction<? extends SearchDataProvider> dataProviders;
+        private final long[] words;
+        private final int from;
+        private final int to;
+
+        MatchTask(IntFunction<? extends SearchDataProvider> dataProviders, long[] words, int from, int to) {
+            this.dataProviders = dataProviders;
+            this.words = words;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            // Split on word boundaries so that concurrent tasks never write the same word
+            int middle = ((from + to) >>> 1) & -Long.SIZE;
+            if (to - from <= sequentialThreshold || middle <= from) {
+                match(dataProviders, words, from, to);
+            } else {
+                invokeAll(new MatchTask(dataProviders, words, from, middle),
+                        new MatchTask(dataProviders, words, middle, to));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.chavaillaz.search.evaluation;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.metrics.SearchMetrics;
+import com.chavaillaz.search.operation.SearchOperation;
+
+/**
+ * Predicate indicating if values match a search operation, adapting each value into a data provider.
+ * <p>
+ * The operation is compiled once when creating the predicate (see {@link SearchOperation#compile()}),
+ * so that later modifications of the operation do not affect the predicate.
+ * Its evaluations are reported to {@link SearchMetrics} when observed. The compiled predicate holds no
+ * mutable state and can therefore be evaluated by several threads, for instance in a parallel {@link Stream}.
+ * In this case, the adapter has to be thread-safe too: it must not return the same reused data provider
+ * (like a {@link com.chavaillaz.search.data.SearchArrayDataProvider} whose values are replaced) to several threads.
+ * </p>
+ *
+ * @param <T> The type of the values to match
+ */
+public class SearchPredicate<T> implements Predicate<T> {
+
+    private final Predicate<SearchDataProvider> predicate;
+    private final Function<? super T, ? extends SearchDataProvider> adapter;
+
+    /**
+     * Creates a new predicate for the given operation.
+     *
+     * @param operation The search operation to evaluate
+     * @param adapter   The function creating the data provider of a value
+     */
+    public SearchPredicate(SearchOperation operation, Function<? super T, ? extends SearchDataProvider> adapter) {
+        this(SearchMetrics.observe(null, operation, operation.compile()), adapter);
+    }
+
+    /**
+     * Creates a new predicate for the given compiled operation.
+     * The predicate must be safe to evaluate concurrently.
+     *
+     * @param predicate The compiled search operation to evaluate
+     * @param adapter   The function creating the data provider of a value
+     */
+    public SearchPredicate(Predicate<SearchDataProvider> predicate, Function<? super T, ? extends SearchDataProvider> adapter) {
+        this.predicate = predicate;
+        this.adapter = adapter;
+    }
+
+    /**
+     * Indicates if the given value matches the operation.
+     *
+     * @param value The value to match
+     * @return {@link Boolean#TRUE} if the value matches the operation, {@link Boolean#FALSE} otherwise
+     */
+    @Override
+    public boolean test(T value) {
+        return predicate.test(adapter.apply(value));
+    }
+
+    /**
+     * Filters the given stream, keeping only the values matching the operation.
+     * The order of the stream is preserved, see {@link #filter(Stream, boolean)}.
+     *
+     * @param stream The stream to filter
+     * @return The stream of the values matching the operation
+     */
+    public Stream<T> filter(Stream<T> stream) {
+        return filter(stream, true);
+    }
+
+    /**
+     * Filters the given stream, keeping only the values matching the operation.
+     * When the order does not have to be preserved, the stream is made unordered,
+     * so that a parallel stream does not need to buffer the results to collect them in order.
+     *
+     * @param stream  The stream to filter
+     * @param ordered {@link Boolean#TRUE} to preserve the order of the stream, {@link Boolean#FALSE} otherwise
+     * @return The stream of the values matching the operation
+     */
+    public Stream<T> filter(Stream<T> stream, boolean ordered) {
+        return ordered ? stream.filter(this) : stream.unordered().filter(this);
+    }
+
+}
@@ -0,0 +1,293 @@
+package com.chavaillaz.search.evaluation;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.operation.SearchConstantOperation;
+import com.chavaillaz.search.operation.SearchLogicalOperation;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.operation.SearchRelationalOperation;
+import com.chavaillaz.search.operator.SearchLogicalOperator;
+
+/**
+ * Evaluator of a search operation measuring each node of its tree, to find which part of an expression costs the most.
+ * <p>
+ * The children of the logical operations are evaluated like a compiled operation (see {@link SearchOperation#compile()}),
+ * in their evaluation order and stopping as soon as the result is known. For each node, the report gives the number of
+ * invocations, the rate of invocations matching, the total time spent in the node and its self time, excluding its children.
+ * The measures include the overhead of the timing itself, so they are meant to be compared between nodes.
+ * </p>
+ * <p>
+ * The measures are accumulated by all the evaluations until the profiler is reset, and can be updated by several threads.
+ * </p>
+ */
+public class SearchProfiler {
+
+    private final Node root;
+
+    /**
+     * Creates a new profiler for the given operation.
+     * The leaves of the operation are compiled, so that its later modifications are not taken into account.
+     *
+     * @param operation The search operation to profile
+     */
+    public SearchProfiler(SearchOperation operation) {
+        this.root = createNode(operation);
+    }
+
+    private static Node createNode(SearchOperation operation) {
+        if (operation instanceof SearchLogicalOperation logicalOperation) {
+            return new Node(operation, null, logicalOperation.getEvaluationOrder().stream()
+                    .map(SearchProfiler::createNode)
+                    .toArray(Node[]::new));
+        }
+        return new Node(operation, operation.compile(), new Node[0]);
+    }
+
+    /**
+     * Indicates if the data from the provider matches the operation, measuring the evaluation.
+     *
+     * @param dataProvider The provider for the data to match with the operation
+     * @return {@link Boolean#TRUE} if the data matches the operation, {@link Boolean#FALSE} otherwise
+     */
+    public boolean match(SearchDataProvider dataProvider) {
+        return root.test(dataProvider);
+    }
+
+    /**
+     * Evaluates the operation for all the given data providers, measuring the evaluations.
+     *
+     * @param dataProviders The data providers to match with the operation
+     * @return The number of data providers matching the operation
+     */
+    public int matchAll(Iterable<? extends SearchDataProvider> dataProviders) {
+        int matches = 0;
+        for (SearchDataProvider dataProvider : dataProviders) {
+            if (root.test(dataProvider)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Resets the measures of all the nodes.
+     */
+    public void reset() {
+        root.reset();
+    }
+
+    /**
+     * Gets the report of the measures as a multi-line text, each node being indented in its parent.
+     *
+     * @return The textual report
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        root.appendText(text, "");
+        return text.toString();
+    }
+
+    /**
+     * Gets the report of the measures as a JSON object, each node containing its children in {@code operations}.
+     *
+     * @return The JSON report
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        root.appendJson(json);
+        return json.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+
+    /**
+     * Appends a value to a JSON document.
+     * Collections (like the values of {@link com.chavaillaz.search.operator.SearchRelationalOperator#LIST}
+     * and {@link com.chavaillaz.search.operator.SearchRelationalOperator#INTERVAL} operations) are written as arrays,
+     * and the non-finite numbers, which cannot be represented in JSON, as {@code null}.
+     *
+     * @param json  The JSON document
+     * @param value The value to append
+     */
+    private static void appendJsonValue(StringBuilder json, Object value) {
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof Double number && !Double.isFinite(number)
+                || value instanceof Float decimal && !Float.isFinite(decimal)) {
+            json.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else if (value instanceof Collection<?> values) {
+            json.append('[');
+            boolean first = true;
+            for (Object element : values) {
+                if (!first) {
+                    json.append(',');
+                }
+                appendJsonValue(json, element);
+                first = false;
+            }
+            json.append(']');
+        } else {
+            json.append(quote(value));
+        }
+    }
+
+    private static String quote(Object value) {
+        String text = String.valueOf(value);
+        StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            switch (character) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (character < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        quoted.append(character);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Node of the profiled tree, with the measures of its evaluations.
+     */
+    private static class Node {
+
+        private final SearchOperation operation;
+        private final Predicate<SearchDataProvider> predicate;
+        private final Node[] children;
+        private final boolean disjunction;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder positives = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        Node(SearchOperation operation, Predicate<SearchDataProvider> predicate, Node[] children) {
+            this.operation = operation;
+            this.predicate = predicate;
+            this.children = children;
+            this.disjunction = operation instanceof SearchLogicalOperation logicalOperation && logicalOperation.getOperator() == SearchLogicalOperator.OR;
+        }
+
+        boolean test(SearchDataProvider dataProvider) {
+            long start = System.nanoTime();
+            boolean result = predicate != null ? predicate.test(dataProvider) : testChildren(dataProvider);
+            nanos.add(System.nanoTime() - start);
+            invocations.increment();
+            if (result) {
+                positives.increment();
+            }
+            return result;
+        }
+
+        private boolean testChildren(SearchDataProvider dataProvider) {
+            for (Node child : children) {
+                if (child.test(dataProvider) == disjunction) {
+                    return disjunction;
+                }
+            }
+            return !disjunction;
+        }
+
+        void reset() {
+            invocations.reset();
+            positives.reset();
+            nanos.reset();
+            for (Node child : children) {
+                child.reset();
+            }
+        }
+
+        /**
+         * Gets the attributes describing the operation of the node followed by its measures.
+         *
+         * @return The attributes by name, in their order of appearance in the reports
+         */
+        Map<String, Object> getAttributes() {
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            if (operation instanceof SearchLogicalOperation logicalOperation) {
+                attributes.put("operator", logicalOperation.getOperator());
+            } else if (operation instanceof SearchRelationalOperation relationalOperation) {
+                attributes.put("field", relationalOperation.getField() != null ? relationalOperation.getField().getName() : "[all]");
+                attributes.put("operator", relationalOperation.getOperator());
+                attributes.put("value", relationalOperation.getValue());
+                attributes.put("inverse", relationalOperation.isInverse());
+            } else if (operation instanceof SearchConstantOperation constantOperation) {
+                attributes.put("value", constantOperation.getValue());
+            }
+
+            long count = invocations.sum();
+            long totalNanos = nanos.sum();
+            long childrenNanos = 0;
+            for (Node child : children) {
+                childrenNanos += child.nanos.sum();
+            }
+            attributes.put("invocations", count);
+            attributes.put("trueRate", count > 0 ? (double) positives.sum() / count : 0.0);
+            attributes.put("totalNanos", totalNanos);
+            attributes.put("selfNanos", Math.max(totalNanos - childrenNanos, 0));
+            return attributes;
+        }
+
+        void appendText(StringBuilder text, String indentation) {
+            text.append(operation.getClass().getSimpleName()).append("[\n");
+            for (Map.Entry<String, Object> attribute : getAttributes().entrySet()) {
+                text.append(indentation).append("  ").append(attribute.getKey()).append('=');
+                if (attribute.getValue() instanceof Double rate) {
+                    text.append(String.format(Locale.ROOT, "%.4f", rate));
+                } else {
+                    text.append(attribute.getValue());
+                }
+                text.append('\n');
+            }
+            if (children.length > 0) {
+                text.append(indentation).append("  operations=[\n");
+                for (Node child : children) {
+                    text.append(indentation).append("    ");
+                    child.appendText(text, indentation + "    ");
+                    text.append('\n');
+                }
+                text.append(indentation).append("  ]\n");
+            }
+            text.append(indentation).append(']');
+        }
+
+        void appendJson(StringBuilder json) {
+            json.append("{\"type\":").append(quote(operation.getClass().getSimpleName()));
+            for (Map.Entry<String, Object> attribute : getAttributes().entrySet()) {
+                Object value = attribute.getValue();
+                json.append(',').append(quote(attribute.getKey())).append(':');
+                appendJsonValue(json, value);
+            }
+            if (children.length > 0) {
+                json.append(",\"operations\":[");
+                for (int index = 0; index < children.length; index++) {
+                    if (index > 0) {
+                        json.append(',');
+                    }
+                    children[index].appendJson(json);
+                }
+                json.append(']');
+            }
+            json.append('}');
+        }
+
+    }
+
+}
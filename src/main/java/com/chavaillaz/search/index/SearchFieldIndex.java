@@ -0,0 +1,273 @@
+package com.chavaillaz.search.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.converter.NumberSearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.converter.SearchStringMatcher;
+import com.chavaillaz.search.converter.StringSearchDataConverter;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+import static com.chavaillaz.search.converter.SearchDataConverterFactory.getConverter;
+
+/**
+ * Inverted index of the values of a single field.
+ * <p>
+ * The identifiers of the records are stored by normalized value: values of case-insensitive string fields are
+ * case-folded, other values are kept as they are. Equality is answered with a lookup of the normalized value,
+ * as are lists of exact strings. Lists of numbers match across boxed types and decimal scales,
+ * so they are answered with the range index when possible, or by evaluating the distinct values.
+ * Other operators are evaluated once per distinct value when the normalization does not change their result.
+ * The distinct values of string fields are also indexed by trigrams, so that only the values
+ * containing all the trigrams of a {@link SearchRelationalOperator#LIKE} search have to be evaluated.
+ * The values of integral and floating-point fields are also sorted in a {@link SearchRangeIndex}
+ * to answer {@link SearchRelationalOperator#INTERVAL} searches.
+ * </p>
+ * <p>
+ * The number of records having each distinct value is tracked, so that a value is dropped with its trigrams
+ * when its last record is removed, and its ordinal is then recycled for the next new value.
+ * </p>
+ */
+class SearchFieldIndex {
+
+    private final SearchExpressionField field;
+    private final SearchDataConverter converter;
+    private final boolean normalized;
+    private final Map<Object, Integer> ordinals;
+    private final List<Object> values;
+    private final List<BitSet> postings;
+    private final Deque<Integer> freeOrdinals;
+    private final SearchTrigramIndex trigramIndex;
+    private final SearchRangeIndex rangeIndex;
+    private final boolean floating;
+    private int[] recordOrdinals;
+    private int[] valueCounts;
+
+    /**
+     * Creates a new index for the given field.
+     *
+     * @param field The field to index
+     */
+    SearchFieldIndex(SearchExpressionField field) {
+        this.field = field;
+        this.converter = getConverter(field);
+        this.normalized = converter instanceof StringSearchDataConverter && !field.isCaseSensitive();
+        this.ordinals = new HashMap<>();
+        this.values = new ArrayList<>();
+        this.postings = new ArrayList<>();
+        this.freeOrdinals = new ArrayDeque<>();
+        this.trigramIndex = converter instanceof StringSearchDataConverter ? new SearchTrigramIndex() : null;
+        this.recordOrdinals = new int[0];
+        this.valueCounts = new int[0];
+
+        Class<?> type = field.getWrapperType();
+        boolean integral = type == Long.class || type == Integer.class || type == Short.class || type == Byte.class;
+        this.floating = type == Double.class || type == Float.class;
+        this.rangeIndex = converter instanceof NumberSearchDataConverter && (integral || floating) ? new SearchRangeIndex() : null;
+    }
+
+    /**
+     * Adds the value of a record.
+     *
+     * @param id    The identifier of the record
+     * @param value The value of the field in the record
+     */
+    void add(int id, Object value) {
+        if (value != null) {
+            int ordinal = ordinals.computeIfAbsent(normalize(value), this::addValue);
+            postings.get(ordinal).set(id);
+            valueCounts[ordinal]++;
+            setRecordOrdinal(id, ordinal);
+
+            Long key = rangeKey(value);
+            if (rangeIndex != null && key != null) {
+                rangeIndex.add(key, id);
+            }
+        }
+    }
+
+    /**
+     * Removes the value of a record.
+     *
+     * @param id The identifier of the record
+     */
+    void remove(int id) {
+        if (id < recordOrdinals.length && recordOrdinals[id] >= 0) {
+            int ordinal = recordOrdinals[id];
+            postings.get(ordinal).clear(id);
+            recordOrdinals[id] = -1;
+
+            Long key = rangeKey(values.get(ordinal));
+            if (rangeIndex != null && key != null) {
+                rangeIndex.remove(key, id);
+            }
+
+            if (--valueCounts[ordinal] == 0) {
+                removeValue(ordinal);
+            }
+        }
+    }
+
+    private void setRecordOrdinal(int id, int ordinal) {
+        if (id >= recordOrdinals.length) {
+            int length = recordOrdinals.length;
+            recordOrdinals = Arrays.copyOf(recordOrdinals, Math.max(id + 1, length * 2));
+            Arrays.fill(recordOrdinals, length, recordOrdinals.length, -1);
+        }
+        recordOrdinals[id] = ordinal;
+    }
+
+    private int addValue(Object value) {
+        Integer freeOrdinal = freeOrdinals.poll();
+        int ordinal;
+        if (freeOrdinal != null) {
+            ordinal = freeOrdinal;
+            values.set(ordinal, value);
+        } else {
+            ordinal = values.size();
+            values.add(value);
+            postings.add(new BitSet());
+            if (ordinal >= valueCounts.length) {
+                valueCounts = Arrays.copyOf(valueCounts, Math.max(ordinal + 1, valueCounts.length * 2));
+            }
+        }
+        if (trigramIndex != null) {
+            trigramIndex.add(ordinal, value.toString());
+        }
+        return ordinal;
+    }
+
+    private void removeValue(int ordinal) {
+        // The postings of the value are already empty and are kept for the next value using the ordinal
+        Object value = values.set(ordinal, null);
+        ordinals.remove(value);
+        if (trigramIndex != null) {
+            trigramIndex.remove(ordinal, value.toString());
+        }
+        freeOrdinals.push(ordinal);
+    }
+
+    /**
+     * Selects the records whose value is matching the expected one with the given operator.
+     *
+     * @param operator The operator to use for the matching
+     * @param expected The expected value given by the user
+     * @return The identifiers of the matching records, or {@code null} if the index cannot answer
+     */
+    BitSet search(SearchRelationalOperator operator, Object expected) {
+        if (expected == null) {
+            return new BitSet();
+        }
+
+        if (operator == SearchRelationalOperator.EQUALS && hasExactEquality()) {
+            Integer ordinal = ordinals.get(normalize(expected));
+            return ordinal != null ? (BitSet) postings.get(ordinal).clone() : new BitSet();
+        } else if (operator == SearchRelationalOperator.LIST && hasExactMembership() && expected instanceof List<?> list) {
+            BitSet identifiers = new BitSet();
+            for (Object value : list) {
+                Integer ordinal = value != null ? ordinals.get(normalize(value)) : null;
+                if (ordinal != null) {
+                    identifiers.or(postings.get(ordinal));
+                }
+            }
+            return identifiers;
+        } else if (operator == SearchRelationalOperator.LIST && rangeIndex != null) {
+            BitSet identifiers = searchList(expected);
+            return identifiers != null ? identifiers : searchDistinctValues(operator, expected, null);
+        } else if (operator == SearchRelationalOperator.LIKE && trigramIndex != null) {
+            return searchDistinctValues(operator, expected, trigramIndex.candidates(normalize(expected).toString()));
+        } else if (operator == SearchRelationalOperator.INTERVAL && rangeIndex != null) {
+            BitSet identifiers = searchInterval(expected);
+            return identifiers != null ? identifiers : searchDistinctValues(operator, expected, null);
+        } else if (!normalized || operator == SearchRelationalOperator.LIST) {
+            return searchDistinctValues(operator, expected, null);
+        }
+
+        return null;
+    }
+
+    private BitSet searchDistinctValues(SearchRelationalOperator operator, Object expected, BitSet candidates) {
+        Predicate<Object> matcher = converter.compile(field, operator, expected);
+        BitSet identifiers = new BitSet();
+        if (candidates == null) {
+            for (int ordinal = 0; ordinal < values.size(); ordinal++) {
+                Object value = values.get(ordinal);
+                if (value != null && matcher.test(value)) {
+                    identifiers.or(postings.get(ordinal));
+                }
+            }
+        } else {
+            for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                if (matcher.test(values.get(ordinal))) {
+                    identifiers.or(postings.get(ordinal));
+                }
+            }
+        }
+        return identifiers;
+    }
+
+    private BitSet searchList(Object expected) {
+        if (expected instanceof List<?> list && !list.isEmpty()) {
+            BitSet identifiers = new BitSet();
+            for (Object value : list) {
+                Long key = rangeKey(value);
+                if (key == null) {
+                    return null;
+                }
+                identifiers.or(rangeIndex.search(key, key));
+            }
+            return identifiers;
+        }
+        return null;
+    }
+
+    private BitSet searchInterval(Object expected) {
+        if (expected instanceof List<?> interval) {
+            Long start = rangeKey(interval.get(0));
+            Long end = rangeKey(interval.get(1));
+            if (start != null && end != null) {
+                return rangeIndex.search(Math.min(start, end), Math.max(start, end));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the key of the value in the range index, preserving the order of the numbers.
+     * Floating-point numbers are ordered like {@link Double#compare(double, double)}.
+     *
+     * @param value The value of the field
+     * @return The key of the value, or {@code null} if the value cannot be sorted in the range index
+     */
+    private Long rangeKey(Object value) {
+        if (floating && (value instanceof Double || value instanceof Float)) {
+            long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+            return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        } else if (!floating && (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)) {
+            return ((Number) value).longValue();
+        }
+        return null;
+    }
+
+    private boolean hasExactEquality() {
+        return converter instanceof StringSearchDataConverter || converter instanceof NumberSearchDataConverter;
+    }
+
+    private boolean hasExactMembership() {
+        return converter instanceof StringSearchDataConverter stringConverter && stringConverter.isExact(field);
+    }
+
+    private Object normalize(Object value) {
+        return normalized ? SearchStringMatcher.fold(value.toString()) : value;
+    }
+
+}
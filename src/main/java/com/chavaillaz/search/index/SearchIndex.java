@@ -0,0 +1,215 @@
+package com.chavaillaz.search.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.converter.SearchStringMatcher;
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.metrics.SearchIndexEvent;
+import com.chavaillaz.search.metrics.SearchMetrics;
+import com.chavaillaz.search.operation.SearchConstantOperation;
+import com.chavaillaz.search.operation.SearchLogicalOperation;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.operation.SearchRelationalOperation;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+
+/**
+ * In-memory index of records used to search them without evaluating the operations on every record.
+ * <p>
+ * Each field of the plan has an inverted index from its normalized values to the identifiers of the records.
+ * Relational operations are answered with these indexes when possible, and logical operations combine their results.
+ * The values of all the fields are also indexed by trigrams, in order to find the candidates
+ * of {@link SearchRelationalOperator#LIKE} searches over all fields.
+ * The operations that cannot be answered by an index are evaluated on every record.
+ * </p>
+ * <p>
+ * The values of the records are read when they are added, later changes of the records are only indexed
+ * when updating them. Records can be added, updated and removed without rebuilding the index.
+ * The index can be searched concurrently, but must not be modified during a search.
+ * </p>
+ */
+public class SearchIndex {
+
+    private final List<SearchDataProvider> records;
+    private final Map<SearchExpressionField, SearchFieldIndex> fieldIndexes;
+    private final SearchTrigramIndex allFieldsTrigramIndex;
+    private final BitSet liveRecords;
+
+    /**
+     * Creates a new empty index for all the fields of the given plan.
+     *
+     * @param plan The search plan
+     */
+    public SearchIndex(SearchExpressionPlan plan) {
+        this.records = new ArrayList<>();
+        this.fieldIndexes = new HashMap<>();
+        this.allFieldsTrigramIndex = new SearchTrigramIndex();
+        this.liveRecords = new BitSet();
+        plan.getFields().forEach(field -> fieldIndexes.put(field, new SearchFieldIndex(field)));
+    }
+
+    /**
+     * Adds a record in the index.
+     *
+     * @param dataProvider The data provider of the record
+     * @return The identifier of the record
+     */
+    public int add(SearchDataProvider dataProvider) {
+        int id = records.size();
+        records.add(dataProvider);
+        index(id, dataProvider);
+        return id;
+    }
+
+    /**
+     * Replaces a record of the index.
+     *
+     * @param id           The identifier of the record
+     * @param dataProvider The new data provider of the record
+     */
+    public void update(int id, SearchDataProvider dataProvider) {
+        remove(id);
+        records.set(id, dataProvider);
+        index(id, dataProvider);
+    }
+
+    /**
+     * Removes a record from the index.
+     * The identifier of the record is not given to the records added later,
+     * but the record can be put back with {@link #update(int, SearchDataProvider)}.
+     *
+     * @param id The identifier of the record
+     */
+    public void remove(int id) {
+        if (liveRecords.get(id)) {
+            liveRecords.clear(id);
+            SearchDataProvider dataProvider = records.set(id, null);
+            fieldIndexes.values().forEach(fieldIndex -> fieldIndex.remove(id));
+            dataProvider.getAllFieldValue().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(value -> allFieldsTrigramIndex.remove(id, SearchStringMatcher.fold(value.toString())));
+        }
+    }
+
+    private void index(int id, SearchDataProvider dataProvider) {
+        liveRecords.set(id);
+        fieldIndexes.forEach((field, fieldIndex) -> fieldIndex.add(id, dataProvider.getFieldValue(field)));
+        dataProvider.getAllFieldValue().stream()
+                .filter(Objects::nonNull)
+                .forEach(value -> allFieldsTrigramIndex.add(id, SearchStringMatcher.fold(value.toString())));
+    }
+
+    /**
+     * Gets the number of records in the index.
+     *
+     * @return The number of records
+     */
+    public int size() {
+        return liveRecords.cardinality();
+    }
+
+    /**
+     * Gets the record with the given identifier.
+     *
+     * @param id The identifier of the record
+     * @return The data provider of the record, or {@code null} if it has been removed
+     */
+    public SearchDataProvider getRecord(int id) {
+        return records.get(id);
+    }
+
+    /**
+     * Searches the records matching the given operation.
+     * The search is reported to {@link SearchMetrics} when observed.
+     *
+     * @param operation The search operation
+     * @return The identifiers of the matching records
+     */
+    public BitSet search(SearchOperation operation) {
+        SearchIndexEvent event = new SearchIndexEvent();
+        if (!SearchMetrics.isObserved(event)) {
+            return searchLive(operation);
+        }
+
+        event.begin();
+        long start = System.nanoTime();
+        BitSet identifiers = searchLive(operation);
+        SearchMetrics.onIndexSearch(event, operation, size(), identifiers.cardinality(), System.nanoTime() - start);
+        return identifiers;
+    }
+
+    private BitSet searchLive(SearchOperation operation) {
+        BitSet identifiers = searchOperation(operation);
+        identifiers.and(liveRecords);
+        return identifiers;
+    }
+
+    private BitSet searchOperation(SearchOperation operation) {
+        if (operation instanceof SearchLogicalOperation logicalOperation) {
+            return logicalOperation.getOperator().select(logicalOperation.getOperations(), this::searchOperation, records.size());
+        } else if (operation instanceof SearchRelationalOperation relationalOperation) {
+            return searchOperation(relationalOperation);
+        } else if (operation instanceof SearchConstantOperation constantOperation) {
+            return constantOperation.getValue() ? (BitSet) liveRecords.clone() : new BitSet();
+        } else {
+            return scan(operation.compile());
+        }
+    }
+
+    private BitSet searchOperation(SearchRelationalOperation operation) {
+        BitSet identifiers;
+        if (operation.getField() == null) {
+            identifiers = searchAllFields(operation);
+        } else {
+            SearchFieldIndex fieldIndex = fieldIndexes.get(operation.getField());
+            identifiers = fieldIndex != null ? fieldIndex.search(operation.getOperator(), operation.getValue()) : null;
+        }
+
+        if (identifiers == null) {
+            return scan(operation.compile());
+        } else if (operation.isInverse()) {
+            identifiers.flip(0, records.size());
+        }
+        return identifiers;
+    }
+
+    private BitSet searchAllFields(SearchRelationalOperation operation) {
+        if (operation.getOperator() != SearchRelationalOperator.LIKE || operation.getValue() == null) {
+            return null;
+        }
+
+        BitSet candidates = allFieldsTrigramIndex.candidates(SearchStringMatcher.fold(operation.getValue().toString()));
+        if (candidates == null) {
+            return null;
+        }
+
+        // Confirm the candidates without the inversion, which is applied on the final result
+        Predicate<Object> matcher = operation.getConverter().compile(null, operation.getOperator(), operation.getValue());
+        BitSet identifiers = new BitSet(records.size());
+        candidates.and(liveRecords);
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            if (records.get(id).anyFieldValueMatch(matcher)) {
+                identifiers.set(id);
+            }
+        }
+        return identifiers;
+    }
+
+    private BitSet scan(Predicate<SearchDataProvider> predicate) {
+        BitSet identifiers = new BitSet(records.size());
+        for (int id = liveRecords.nextSetBit(0); id >= 0; id = liveRecords.nextSetBit(id + 1)) {
+            if (predicate.test(records.get(id))) {
+                identifiers.set(id);
+            }
+        }
+        return identifiers;
+    }
+
+}
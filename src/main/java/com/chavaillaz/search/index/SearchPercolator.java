@@ -0,0 +1,417 @@
+package com.chavaillaz.search.index;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.converter.NumberSearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.converter.SearchStringMatcher;
+import com.chavaillaz.search.converter.StringSearchDataConverter;
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.metrics.SearchEvaluationEvent;
+import com.chavaillaz.search.metrics.SearchMetrics;
+import com.chavaillaz.search.operation.SearchConstantOperation;
+import com.chavaillaz.search.operation.SearchLogicalOperation;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.operation.SearchRelationalOperation;
+import com.chavaillaz.search.operator.SearchLogicalOperator;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+import static com.chavaillaz.search.converter.SearchDataConverterFactory.getConverter;
+
+/**
+ * Percolator matching records against many registered search operations at once.
+ * <p>
+ * Each registered operation is indexed by the terms that a record must contain for the operation to match:
+ * the values of its non-inverted {@link SearchRelationalOperator#EQUALS} and {@link SearchRelationalOperator#LIST}
+ * operations on fields compared by equality. A conjunction requires the terms of one of its operations
+ * (the one with the fewest terms), a disjunction requires the terms of all its operations.
+ * Operations without such terms are evaluated for every record, the others only when the record contains one of their terms.
+ * </p>
+ * <p>
+ * Identical relational operations of different registered operations are compiled only once,
+ * and their result is computed at most once per record.
+ * </p>
+ * <p>
+ * Registrations must not be done concurrently with percolations, but several records can be percolated in parallel.
+ * </p>
+ */
+public class SearchPercolator {
+
+    private static final byte MATCHING = 1;
+    private static final byte NOT_MATCHING = 2;
+
+    private final List<Registration> registrations;
+    private final Map<SearchExpressionField, FieldTerms> terms;
+    private final BitSet unanchored;
+    private final BitSet liveRegistrations;
+    private final Map<Object, Leaf> leaves;
+    private final List<Predicate<SearchDataProvider>> leafPredicates;
+    private final Deque<Integer> freeLeafSlots;
+    private final ThreadLocal<Evaluation> evaluations;
+
+    /**
+     * Creates a new empty percolator.
+     */
+    public SearchPercolator() {
+        this.registrations = new ArrayList<>();
+        this.terms = new HashMap<>();
+        this.unanchored = new BitSet();
+        this.liveRegistrations = new BitSet();
+        this.leaves = new HashMap<>();
+        this.leafPredicates = new ArrayList<>();
+        this.freeLeafSlots = new ArrayDeque<>();
+        this.evaluations = ThreadLocal.withInitial(Evaluation::new);
+    }
+
+    /**
+     * Registers an operation in the percolator.
+     * The operation is compiled, so that its later modifications are not taken into account.
+     *
+     * @param operation The search operation
+     * @return The identifier of the registered operation
+     */
+    public int register(SearchOperation operation) {
+        int id = registrations.size();
+        List<Object> leafKeys = new ArrayList<>();
+        Predicate<Evaluation> predicate = compile(operation, leafKeys);
+        Set<Term> anchors = anchors(operation);
+
+        registrations.add(new Registration(operation, predicate, leafKeys, anchors));
+        liveRegistrations.set(id);
+        if (anchors == null) {
+            unanchored.set(id);
+        } else {
+            anchors.forEach(term -> terms.computeIfAbsent(term.field(), FieldTerms::new)
+                    .add(term.value(), id));
+        }
+        return id;
+    }
+
+    /**
+     * Unregisters an operation from the percolator.
+     * The identifier of the operation will not be reused.
+     *
+     * @param id The identifier of the registered operation
+     */
+    public void unregister(int id) {
+        if (!liveRegistrations.get(id)) {
+            return;
+        }
+
+        Registration registration = registrations.get(id);
+        registrations.set(id, null);
+        liveRegistrations.clear(id);
+        unanchored.clear(id);
+        if (registration.anchors() != null) {
+            for (Term term : registration.anchors()) {
+                FieldTerms fieldTerms = terms.get(term.field());
+                if (fieldTerms.remove(term.value(), id)) {
+                    terms.remove(term.field());
+                }
+            }
+        }
+        registration.leafKeys().forEach(this::releaseLeaf);
+    }
+
+    /**
+     * Gets the number of operations registered in the percolator.
+     *
+     * @return The number of operations
+     */
+    public int size() {
+        return liveRegistrations.cardinality();
+    }
+
+    /**
+     * Gets the registered operation with the given identifier.
+     *
+     * @param id The identifier of the registered operation
+     * @return The operation, or {@code null} if it has been unregistered
+     */
+    public SearchOperation getOperation(int id) {
+        Registration registration = registrations.get(id);
+        return registration != null ? registration.operation() : null;
+    }
+
+    /**
+     * Gets the registered operations matching the given record.
+     * The evaluation of each candidate operation is reported to {@link SearchMetrics} when observed.
+     *
+     * @param dataProvider The data provider of the record
+     * @return The identifiers of the matching operations
+     */
+    public BitSet percolate(SearchDataProvider dataProvider) {
+        BitSet candidates = (BitSet) unanchored.clone();
+        terms.forEach((field, fieldTerms) -> {
+            Object value = dataProvider.getFieldValue(field);
+            BitSet identifiers = value != null ? fieldTerms.get(value) : null;
+            if (identifiers != null) {
+                candidates.or(identifiers);
+            }
+        });
+
+        boolean observed = SearchMetrics.isObserved(new SearchEvaluationEvent());
+        Evaluation evaluation = evaluations.get();
+        evaluation.start(dataProvider, leafPredicates);
+        try {
+            BitSet matching = new BitSet();
+            for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                Registration registration = registrations.get(id);
+                if (observed ? test(registration, evaluation) : registration.predicate().test(evaluation)) {
+                    matching.set(id);
+                }
+            }
+            return matching;
+        } finally {
+            evaluation.finish();
+        }
+    }
+
+    private static boolean test(Registration registration, Evaluation evaluation) {
+        SearchEvaluationEvent event = new SearchEvaluationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean matched = registration.predicate().test(evaluation);
+        SearchMetrics.onEvaluation(event, null, registration.operation(), matched, System.nanoTime() - start);
+        return matched;
+    }
+
+    private Predicate<Evaluation> compile(SearchOperation operation, List<Object> leafKeys) {
+        if (operation instanceof SearchLogicalOperation logicalOperation) {
+            return logicalOperation.getOperator().compile(logicalOperation.getOperations().stream()
+                    .map(child -> compile(child, leafKeys))
+                    .toList());
+        }
+
+        Object key = operation instanceof SearchRelationalOperation relationalOperation
+                ? new LeafKey(relationalOperation.getField(), relationalOperation.getOperator(),
+                relationalOperation.getValue(), relationalOperation.isInverse())
+                : operation;
+        leafKeys.add(key);
+        int slot = acquireLeaf(key, operation).slot;
+        return evaluation -> evaluation.test(slot);
+    }
+
+    private Leaf acquireLeaf(Object key, SearchOperation operation) {
+        Leaf leaf = leaves.get(key);
+        if (leaf == null) {
+            Predicate<SearchDataProvider> predicate = operation.compile();
+            Integer slot = freeLeafSlots.poll();
+            if (slot == null) {
+                slot = leafPredicates.size();
+                leafPredicates.add(predicate);
+            } else {
+                leafPredicates.set(slot, predicate);
+            }
+            leaf = new Leaf(slot);
+            leaves.put(key, leaf);
+        }
+        leaf.references++;
+        return leaf;
+    }
+
+    private void releaseLeaf(Object key) {
+        Leaf leaf = leaves.get(key);
+        if (--leaf.references == 0) {
+            leaves.remove(key);
+            leafPredicates.set(leaf.slot, null);
+            freeLeafSlots.push(leaf.slot);
+        }
+    }
+
+    /**
+     * Gets the terms of which a record must contain at least one to match the given operation.
+     *
+     * @param operation The search operation
+     * @return The terms required by the operation, or {@code null} if the operation cannot be anchored on terms
+     */
+    private Set<Term> anchors(SearchOperation operation) {
+        if (operation instanceof SearchLogicalOperation logicalOperation && !logicalOperation.getOperations().isEmpty()) {
+            Set<Term> anchors = null;
+            for (SearchOperation child : logicalOperation.getOperations()) {
+                Set<Term> childAnchors = anchors(child);
+                if (logicalOperation.getOperator() == SearchLogicalOperator.OR) {
+                    // Disjunction: every operation must be anchored
+                    if (childAnchors == null) {
+                        return null;
+                    }
+                    anchors = anchors == null ? new HashSet<>() : anchors;
+                    anchors.addAll(childAnchors);
+                } else if (childAnchors != null && (anchors == null || childAnchors.size() < anchors.size())) {
+                    // Conjunction: the most selective anchored operation is enough
+                    anchors = childAnchors;
+                }
+            }
+            return anchors;
+        } else if (operation instanceof SearchRelationalOperation relationalOperation) {
+            return anchors(relationalOperation);
+        } else if (operation == SearchConstantOperation.FALSE) {
+            // A contradiction never has to be evaluated
+            return Set.of();
+        }
+        return null;
+    }
+
+    private Set<Term> anchors(SearchRelationalOperation operation) {
+        SearchExpressionField field = operation.getField();
+        if (field == null || operation.isInverse() || operation.getValue() == null) {
+            return null;
+        }
+
+        SearchDataConverter converter = getConverter(field);
+        boolean textual = converter instanceof StringSearchDataConverter;
+        if (!textual && !(converter instanceof NumberSearchDataConverter)) {
+            return null;
+        }
+
+        if (operation.getOperator() == SearchRelationalOperator.EQUALS) {
+            return Set.of(new Term(field, termValue(textual, field, operation.getValue())));
+        } else if (operation.getOperator() == SearchRelationalOperator.LIST
+                && (!textual || ((StringSearchDataConverter) converter).isExact(field))
+                && operation.getValue() instanceof List<?> values
+                && !values.contains(null)) {
+            Set<Term> anchors = new HashSet<>();
+            values.forEach(value -> anchors.add(new Term(field, termValue(textual, field, value))));
+            return anchors;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the value of a term, such that equal values always give equal terms.
+     * Numbers of different types but with the same value give the same term,
+     * as do strings differing only by their case in case-insensitive fields.
+     *
+     * @param textual {@link Boolean#TRUE} if the values of the field are compared as strings, {@link Boolean#FALSE} otherwise
+     * @param field   The field of the value
+     * @param value   The value
+     * @return The value of the term
+     */
+    private static Object termValue(boolean textual, SearchExpressionField field, Object value) {
+        if (textual) {
+            return field.isCaseSensitive() ? value.toString() : SearchStringMatcher.fold(value.toString());
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Double || value instanceof Float) {
+            return ((Number) value).doubleValue();
+        } else if (value instanceof BigDecimal decimal) {
+            return decimal.stripTrailingZeros();
+        }
+        return value;
+    }
+
+    private record Registration(SearchOperation operation, Predicate<Evaluation> predicate,
+                                List<Object> leafKeys, Set<Term> anchors) {
+
+    }
+
+    private record Term(SearchExpressionField field, Object value) {
+
+    }
+
+    /**
+     * Terms of a single field, with the identifiers of the operations requiring them.
+     */
+    private static class FieldTerms {
+
+        private final SearchExpressionField field;
+        private final boolean textual;
+        private final Map<Object, BitSet> identifiers;
+
+        private FieldTerms(SearchExpressionField field) {
+            this.field = field;
+            this.textual = getConverter(field) instanceof StringSearchDataConverter;
+            this.identifiers = new HashMap<>();
+        }
+
+        private void add(Object term, int id) {
+            identifiers.computeIfAbsent(term, key -> new BitSet()).set(id);
+        }
+
+        private boolean remove(Object term, int id) {
+            BitSet termIdentifiers = identifiers.get(term);
+            termIdentifiers.clear(id);
+            if (termIdentifiers.isEmpty()) {
+                identifiers.remove(term);
+            }
+            return identifiers.isEmpty();
+        }
+
+        private BitSet get(Object value) {
+            return identifiers.get(termValue(textual, field, value));
+        }
+
+    }
+
+    private record LeafKey(SearchExpressionField field, SearchRelationalOperator operator, Object value, boolean inverse) {
+
+    }
+
+    private static class Leaf {
+
+        private final int slot;
+        private int references;
+
+        private Leaf(int slot) {
+            this.slot = slot;
+        }
+
+    }
+
+    /**
+     * State of the percolation of a record, keeping the results of the relational operations already evaluated.
+     * The results of a previous record are invalidated by changing the generation rather than clearing them.
+     * The state is kept by thread between the percolations: it does not reference its percolator,
+     * and releases the record and the predicates once the percolation is finished,
+     * so that a discarded percolator is not retained by the threads that used it.
+     */
+    private static class Evaluation {
+
+        private SearchDataProvider dataProvider;
+        private List<Predicate<SearchDataProvider>> predicates;
+        private int[] generations = new int[0];
+        private byte[] results = new byte[0];
+        private int generation;
+
+        private void start(SearchDataProvider dataProvider, List<Predicate<SearchDataProvider>> predicates) {
+            this.dataProvider = dataProvider;
+            this.predicates = predicates;
+            int leafCount = predicates.size();
+            if (generations.length < leafCount) {
+                generations = Arrays.copyOf(generations, leafCount);
+                results = Arrays.copyOf(results, leafCount);
+            }
+            if (++generation == 0) {
+                Arrays.fill(generations, 0);
+                generation = 1;
+            }
+        }
+
+        private boolean test(int slot) {
+            if (generations[slot] != generation) {
+                generations[slot] = generation;
+                results[slot] = predicates.get(slot).test(dataProvider) ? MATCHING : NOT_MATCHING;
+            }
+            return results[slot] == MATCHING;
+        }
+
+        private void finish() {
+            dataProvider = null;
+            predicates = null;
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.chavaillaz.search.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Sorted index of primitive keys used to find the identifiers in an interval of keys.
+ * <p>
+ * The entries are sorted by key and then by identifier, in blocks of limited size.
+ * An interval is found with two binary searches and the identifiers are then read from a contiguous range of entries.
+ * Inserting or removing an entry only shifts the entries of one block, so that the index never has to be rebuilt.
+ * </p>
+ */
+class SearchRangeIndex {
+
+    private static final int BLOCK_CAPACITY = 512;
+
+    private final List<Block> blocks;
+
+    /**
+     * Creates a new empty range index.
+     */
+    SearchRangeIndex() {
+        this.blocks = new ArrayList<>();
+    }
+
+    /**
+     * Adds an entry in the index.
+     *
+     * @param key The key of the entry
+     * @param id  The identifier of the entry
+     */
+    void add(long key, int id) {
+        if (blocks.isEmpty()) {
+            Block block = new Block();
+            block.insert(0, key, id);
+            blocks.add(block);
+            return;
+        }
+
+        int blockIndex = Math.min(findBlock(key, id), blocks.size() - 1);
+        Block block = blocks.get(blockIndex);
+        int position = block.position(key, id);
+        if (position < 0) {
+            block.insert(-position - 1, key, id);
+            if (block.size == BLOCK_CAPACITY) {
+                blocks.add(blockIndex + 1, block.split());
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from the index.
+     *
+     * @param key The key of the entry
+     * @param id  The identifier of the entry
+     */
+    void remove(long key, int id) {
+        int blockIndex = findBlock(key, id);
+        if (blockIndex < blocks.size()) {
+            Block block = blocks.get(blockIndex);
+            int position = block.position(key, id);
+            if (position >= 0) {
+                block.delete(position);
+                if (block.size == 0) {
+                    blocks.remove(blockIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the identifiers of the entries whose key is in the given interval.
+     *
+     * @param minimum The minimum key (inclusive)
+     * @param maximum The maximum key (inclusive)
+     * @return The identifiers of the entries in the interval
+     */
+    BitSet search(long minimum, long maximum) {
+        BitSet identifiers = new BitSet();
+        for (int blockIndex = findBlock(minimum, Integer.MIN_VALUE); blockIndex < blocks.size(); blockIndex++) {
+            Block block = blocks.get(blockIndex);
+            for (int position = -block.position(minimum, Integer.MIN_VALUE) - 1; position < block.size; position++) {
+                if (block.keys[position] > maximum) {
+                    return identifiers;
+                }
+                identifiers.set(block.ids[position]);
+            }
+        }
+        return identifiers;
+    }
+
+    /**
+     * Finds the first block whose last entry is greater than or equal to the given one.
+     */
+    private int findBlock(long key, int id) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Block block = blocks.get(middle);
+            if (compare(block.keys[block.size - 1], block.ids[block.size - 1], key, id) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(long key, int id, long otherKey, int otherId) {
+        int comparison = Long.compare(key, otherKey);
+        return comparison != 0 ? comparison : Integer.compare(id, otherId);
+    }
+
+    private static class Block {
+
+        private final long[] keys = new long[BLOCK_CAPACITY];
+        private final int[] ids = new int[BLOCK_CAPACITY];
+        private int size;
+
+        /**
+         * Searches the position of the given entry, same contract as {@link java.util.Arrays#binarySearch(long[], long)}.
+         */
+        private int position(long key, int id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int comparison = compare(keys[middle], ids[middle], key, id);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void insert(int position, long key, int id) {
+            System.arraycopy(keys, position, keys, position + 1, size - position);
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            keys[position] = key;
+            ids[position] = id;
+            size++;
+        }
+
+        private void delete(int position) {
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        private Block split() {
+            Block block = new Block();
+            int half = size / 2;
+            block.size = size - half;
+            System.arraycopy(keys, half, block.keys, 0, block.size);
+            System.arraycopy(ids, half, block.ids, 0, block.size);
+            size = half;
+            return block;
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.chavaillaz.search.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the trigrams (substrings of three characters) contained in texts.
+ * <p>
+ * A text can only contain a needle if it contains every trigram of the needle.
+ * The index therefore gives the candidates that have to be confirmed by an exact substring search.
+ * Texts must be normalized by the caller in the same way as the needles.
+ * </p>
+ */
+class SearchTrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, BitSet> postings;
+
+    /**
+     * Creates a new empty trigram index.
+     */
+    SearchTrigramIndex() {
+        this.postings = new HashMap<>();
+    }
+
+    /**
+     * Adds all the trigrams of the given text.
+     *
+     * @param id   The identifier of the text
+     * @param text The normalized text
+     */
+    void add(int id, String text) {
+        for (int index = 0; index + GRAM_LENGTH <= text.length(); index++) {
+            postings.computeIfAbsent(trigram(text, index), key -> new BitSet()).set(id);
+        }
+    }
+
+    /**
+     * Removes all the trigrams of the given text, dropping the trigrams no longer contained in any text.
+     *
+     * @param id   The identifier of the text
+     * @param text The normalized text, as it was added
+     */
+    void remove(int id, String text) {
+        for (int index = 0; index + GRAM_LENGTH <= text.length(); index++) {
+            long key = trigram(text, index);
+            BitSet identifiers = postings.get(key);
+            if (identifiers != null) {
+                identifiers.clear(id);
+                if (identifiers.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the identifiers of the texts containing all the trigrams of the given needle.
+     *
+     * @param needle The normalized needle
+     * @return The identifiers of the candidates, or {@code null} if the needle is too short to have a trigram
+     */
+    BitSet candidates(String needle) {
+        if (needle.length() < GRAM_LENGTH) {
+            return null;
+        }
+
+        BitSet candidates = null;
+        for (int index = 0; index + GRAM_LENGTH <= needle.length(); index++) {
+            BitSet identifiers = postings.get(trigram(needle, index));
+            if (identifiers == null) {
+                return new BitSet();
+            } else if (candidates == null) {
+                candidates = (BitSet) identifiers.clone();
+            } else {
+                candidates.and(identifiers);
+            }
+        }
+        return candidates;
+    }
+
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.chavaillaz.search.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of the matching of data with a search expression or operation.
+ * Only the evaluations longer than the threshold are recorded, 1 ms by default,
+ * which can be changed with the setting {@code com.chavaillaz.search.Evaluation#threshold}.
+ */
+@Name("com.chavaillaz.search.Evaluation")
+@Label("Search Expression Evaluation")
+@Description("Matching of data with a search expression or operation")
+@Category("Search")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SearchEvaluationEvent extends Event {
+
+    @Label("Expression")
+    String expression;
+
+    @Label("Matched")
+    boolean matched;
+
+}
@@ -0,0 +1,30 @@
+package com.chavaillaz.search.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of the search of an operation in an index, selecting all its matching records at once.
+ * Only the searches longer than the threshold are recorded, 1 ms by default,
+ * which can be changed with the setting {@code com.chavaillaz.search.IndexSearch#threshold}.
+ */
+@Name("com.chavaillaz.search.IndexSearch")
+@Label("Search Expression Index Search")
+@Description("Selection of the records of an index matching a search operation")
+@Category("Search")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SearchIndexEvent extends Event {
+
+    @Label("Records")
+    int records;
+
+    @Label("Matches")
+    int matches;
+
+}
@@ -0,0 +1,59 @@
+package com.chavaillaz.search.metrics;
+
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Listener notified of the parsing and the evaluation of search expressions, to collect metrics.
+ * Listeners are registered in {@link SearchMetrics}, either explicitly or as services
+ * declared in {@code META-INF/services/com.chavaillaz.search.metrics.SearchListener}.
+ * <p>
+ * Listeners are called synchronously by the threads parsing and evaluating expressions, concurrently,
+ * so they must be thread-safe and fast. The default implementation of each method does nothing.
+ * </p>
+ */
+public interface SearchListener {
+
+    /**
+     * Called when an expression has been parsed.
+     *
+     * @param expression The parsed expression
+     * @param operation  The root of the operation tree created from the expression
+     * @param nanos      The duration of the parsing in nanoseconds
+     */
+    default void onParse(String expression, SearchOperation operation, long nanos) {
+    }
+
+    /**
+     * Called when data has been matched with a parsed expression or with an operation.
+     *
+     * @param expression The parsed expression, {@code null} when the operation has not been parsed by the caller
+     * @param operation  The root of the evaluated operation tree
+     * @param matched    {@link Boolean#TRUE} if the data matched the operation, {@link Boolean#FALSE} otherwise
+     * @param nanos      The duration of the evaluation in nanoseconds
+     */
+    default void onEvaluation(String expression, SearchOperation operation, boolean matched, long nanos) {
+    }
+
+    /**
+     * Called when the records of an index matching an operation have been selected at once.
+     *
+     * @param operation The root of the searched operation tree
+     * @param records   The number of records in the index
+     * @param matches   The number of matching records
+     * @param nanos     The duration of the search in nanoseconds
+     */
+    default void onIndexSearch(SearchOperation operation, int records, int matches, long nanos) {
+    }
+
+    /**
+     * Called when the value of a field cannot be converted by its converter during a parsing.
+     *
+     * @param field     The field of the value, {@code null} for a search on all the fields
+     * @param value     The value that cannot be converted
+     * @param exception The exception thrown by the converter
+     */
+    default void onConverterError(SearchExpressionField field, String value, RuntimeException exception) {
+    }
+
+}
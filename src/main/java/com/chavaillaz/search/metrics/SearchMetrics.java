@@ -0,0 +1,223 @@
+package com.chavaillaz.search.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.operation.SearchLogicalOperation;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.operation.SearchRelationalOperation;
+import com.chavaillaz.search.parser.SearchExpressionField;
+import jdk.jfr.Event;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the {@link SearchListener} and emitter of the Flight Recorder events.
+ * <p>
+ * The listeners declared as services are registered when the class is loaded.
+ * The registered listeners are kept in an immutable list, replaced on every registration,
+ * so that notifications never block and never see a partially modified list.
+ * Exceptions thrown by listeners are logged and never interrupt the parsing or the evaluation.
+ * </p>
+ * <p>
+ * The evaluations are only measured when a listener is registered or when their event
+ * is enabled in a recording, so that they do not cost anything otherwise.
+ * The compiled predicates given to the evaluation entry points (like the parser, the batch matcher or the predicates
+ * adapting values) are wrapped by {@link #observe(String, SearchOperation, Predicate)} to report each evaluation.
+ * </p>
+ */
+@Slf4j
+@UtilityClass
+public class SearchMetrics {
+
+    private static final Object registrationLock = new Object();
+    private static volatile List<SearchListener> listeners;
+
+    static {
+        List<SearchListener> services = new ArrayList<>();
+        ServiceLoader.load(SearchListener.class).forEach(services::add);
+        listeners = List.copyOf(services);
+    }
+
+    /**
+     * Registers a new listener.
+     *
+     * @param listener The listener
+     */
+    public static void registerListener(SearchListener listener) {
+        synchronized (registrationLock) {
+            List<SearchListener> registered = new ArrayList<>(listeners);
+            registered.add(listener);
+            listeners = List.copyOf(registered);
+        }
+    }
+
+    /**
+     * Deregister a listener.
+     *
+     * @param listener The listener
+     */
+    public static void unregisterListener(SearchListener listener) {
+        synchronized (registrationLock) {
+            List<SearchListener> registered = new ArrayList<>(listeners);
+            registered.remove(listener);
+            listeners = List.copyOf(registered);
+        }
+    }
+
+    /**
+     * Gets the registered listeners.
+     *
+     * @return The immutable list of listeners
+     */
+    public static List<SearchListener> getListeners() {
+        return listeners;
+    }
+
+    /**
+     * Indicates if an evaluation has to be measured.
+     *
+     * @param event The event of the evaluation, not begun yet
+     * @return {@link Boolean#TRUE} if the event is enabled or a listener is registered, {@link Boolean#FALSE} otherwise
+     */
+    public static boolean isObserved(Event event) {
+        return event.isEnabled() || !listeners.isEmpty();
+    }
+
+    /**
+     * Wraps the compiled predicate of an operation, so that each of its evaluations is reported when observed.
+     * The check is done for each evaluation, so that listeners registered later are notified too.
+     *
+     * @param expression The expression of the operation, {@code null} if it is unknown
+     * @param operation  The root of the operation tree
+     * @param predicate  The compiled predicate of the operation
+     * @return The predicate reporting its evaluations
+     */
+    public static Predicate<SearchDataProvider> observe(String expression, SearchOperation operation, Predicate<SearchDataProvider> predicate) {
+        return dataProvider -> {
+            SearchEvaluationEvent event = new SearchEvaluationEvent();
+            if (!isObserved(event)) {
+                return predicate.test(dataProvider);
+            }
+
+            event.begin();
+            long start = System.nanoTime();
+            boolean matched = predicate.test(dataProvider);
+            onEvaluation(event, expression, operation, matched, System.nanoTime() - start);
+            return matched;
+        };
+    }
+
+    /**
+     * Counts the relational operations of a tree, giving the size of the expression it was parsed from.
+     *
+     * @param operation The root of the operation tree
+     * @return The number of relational operations in the tree
+     */
+    private static int countRelationalOperations(SearchOperation operation) {
+        if (operation instanceof SearchLogicalOperation logicalOperation) {
+            int count = 0;
+            for (SearchOperation child : logicalOperation.getOperations()) {
+                count += countRelationalOperations(child);
+            }
+            return count;
+        }
+        return operation instanceof SearchRelationalOperation ? 1 : 0;
+    }
+
+    /**
+     * Reports the parsing of an expression.
+     *
+     * @param event      The event begun with the parsing
+     * @param expression The parsed expression
+     * @param operation  The root of the operation tree created from the expression
+     * @param nanos      The duration of the parsing in nanoseconds
+     */
+    public static void onParse(SearchParseEvent event, String expression, SearchOperation operation, long nanos) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.expression = expression;
+            event.length = expression.length();
+            event.operations = countRelationalOperations(operation);
+            event.commit();
+        }
+        for (SearchListener listener : listeners) {
+            try {
+                listener.onParse(expression, operation, nanos);
+            } catch (RuntimeException e) {
+                log.warn("Listener {} failed on parsing", listener, e);
+            }
+        }
+    }
+
+    /**
+     * Reports the evaluation of an expression.
+     *
+     * @param event      The event begun with the evaluation
+     * @param expression The evaluated expression
+     * @param operation  The root of the evaluated operation tree
+     * @param matched    {@link Boolean#TRUE} if the data matched the operation, {@link Boolean#FALSE} otherwise
+     * @param nanos      The duration of the evaluation in nanoseconds
+     */
+    public static void onEvaluation(SearchEvaluationEvent event, String expression, SearchOperation operation, boolean matched, long nanos) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.expression = expression;
+            event.matched = matched;
+            event.commit();
+        }
+        for (SearchListener listener : listeners) {
+            try {
+                listener.onEvaluation(expression, operation, matched, nanos);
+            } catch (RuntimeException e) {
+                log.warn("Listener {} failed on evaluation", listener, e);
+            }
+        }
+    }
+
+    /**
+     * Reports the search of an operation in an index.
+     *
+     * @param event     The event begun with the search
+     * @param operation The root of the searched operation tree
+     * @param records   The number of records in the index
+     * @param matches   The number of matching records
+     * @param nanos     The duration of the search in nanoseconds
+     */
+    public static void onIndexSearch(SearchIndexEvent event, SearchOperation operation, int records, int matches, long nanos) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.records = records;
+            event.matches = matches;
+            event.commit();
+        }
+        for (SearchListener listener : listeners) {
+            try {
+                listener.onIndexSearch(operation, records, matches, nanos);
+            } catch (RuntimeException e) {
+                log.warn("Listener {} failed on index search", listener, e);
+            }
+        }
+    }
+
+    /**
+     * Reports a value that cannot be converted.
+     *
+     * @param field     The field of the value, {@code null} for a search on all the fields
+     * @param value     The value that cannot be converted
+     * @param exception The exception thrown by the converter
+     */
+    public static void onConverterError(SearchExpressionField field, String value, RuntimeException exception) {
+        for (SearchListener listener : listeners) {
+            try {
+                listener.onConverterError(field, value, exception);
+            } catch (RuntimeException e) {
+                log.warn("Listener {} failed on converter error", listener, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.chavaillaz.search.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of the parsing of a search expression.
+ * Only the parsings longer than the threshold are recorded, 1 ms by default,
+ * which can be changed with the setting {@code com.chavaillaz.search.Parse#threshold}.
+ */
+@Name("com.chavaillaz.search.Parse")
+@Label("Search Expression Parsing")
+@Description("Parsing of a search expression into an operation tree")
+@Category("Search")
+@Threshold("1 ms")
+@StackTrace(false)
+public class SearchParseEvent extends Event {
+
+    @Label("Expression")
+    String expression;
+
+    @Label("Expression Length")
+    int length;
+
+    @Label("Relational Operations")
+    int operations;
+
+}
@@ -0,0 +1,102 @@
+package com.chavaillaz.search.operation;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+import com.chavaillaz.search.data.SearchColumnarBatch;
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+/**
+ * Represents an operation whose result does not depend on the data, like a contradiction or a tautology
+ * folded by the {@link SearchOperationOptimizer}. A constant operation has no field and is always frozen.
+ */
+public final class SearchConstantOperation implements SearchOperation {
+
+    /**
+     * Operation matching all the data.
+     */
+    public static final SearchConstantOperation TRUE = new SearchConstantOperation(true);
+
+    /**
+     * Operation matching no data.
+     */
+    public static final SearchConstantOperation FALSE = new SearchConstantOperation(false);
+
+    private final boolean value;
+
+    private SearchConstantOperation(boolean value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the constant operation with the given result.
+     *
+     * @param value The result of the operation
+     * @return The constant operation
+     */
+    public static SearchConstantOperation of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Gets the result of the operation.
+     *
+     * @return {@link Boolean#TRUE} if the operation matches all the data, {@link Boolean#FALSE} otherwise
+     */
+    public boolean getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean match(SearchDataProvider dataProvider) {
+        return value;
+    }
+
+    @Override
+    public BitSet match(SearchColumnarBatch batch) {
+        BitSet selection = new BitSet(batch.size());
+        if (value) {
+            selection.set(0, batch.size());
+        }
+        return selection;
+    }
+
+    @Override
+    public boolean match(SearchDataProvider dataProvider, List<SearchExpressionField> matchingFields) {
+        return value;
+    }
+
+    @Override
+    public List<SearchExpressionField> getFields() {
+        return List.of();
+    }
+
+    @Override
+    public SearchEstimate estimate() {
+        return new SearchEstimate(0, value ? 1 : 0);
+    }
+
+    @Override
+    public Predicate<SearchDataProvider> compile() {
+        return value ? dataProvider -> true : dataProvider -> false;
+    }
+
+    @Override
+    public void freeze() {
+        // Always frozen
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value).toUpperCase(Locale.ROOT);
+    }
+
+}
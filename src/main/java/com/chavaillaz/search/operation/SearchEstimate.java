@@ -0,0 +1,81 @@
+package com.chavaillaz.search.operation;
+
+import java.util.List;
+
+import com.chavaillaz.search.operator.SearchLogicalOperator;
+
+import static com.chavaillaz.search.operator.SearchLogicalOperator.OR;
+
+/**
+ * Represents the static estimation of the evaluation of an operation,
+ * computed from the cost and the selectivity declared on the fields.
+ */
+public class SearchEstimate {
+
+    private static final double MINIMUM_PROBABILITY = 1e-6;
+
+    private final double cost;
+    private final double selectivity;
+
+    /**
+     * Creates a new estimate.
+     *
+     * @param cost        The expected cost of an evaluation
+     * @param selectivity The probability that an evaluation matches, between 0 and 1
+     */
+    public SearchEstimate(double cost, double selectivity) {
+        this.cost = cost;
+        this.selectivity = selectivity;
+    }
+
+    /**
+     * Combines the estimates of operands evaluated in the given order with the logical operator.
+     * An operand is only evaluated when the previous ones did not decide the result.
+     *
+     * @param operator  The logical operator combining the operands
+     * @param estimates The estimates of the operands in their evaluation order
+     * @return The estimate of the logical operation
+     */
+    public static SearchEstimate combine(SearchLogicalOperator operator, List<SearchEstimate> estimates) {
+        boolean disjunction = operator == OR;
+        double cost = 0;
+        double undecided = 1;
+        for (SearchEstimate estimate : estimates) {
+            cost += undecided * estimate.getCost();
+            undecided *= disjunction ? 1 - estimate.getSelectivity() : estimate.getSelectivity();
+        }
+        return new SearchEstimate(cost, disjunction ? 1 - undecided : undecided);
+    }
+
+    /**
+     * Gets the expected cost of an evaluation, relative to the weights of the field costs.
+     *
+     * @return The expected cost
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Gets the probability that an evaluation matches.
+     *
+     * @return The selectivity between 0 and 1
+     */
+    public double getSelectivity() {
+        return selectivity;
+    }
+
+    /**
+     * Gets the rank of the operation among the operands of the given logical operator, the lowest being evaluated first.
+     * This is the cost divided by the probability that the operation decides the result,
+     * meaning not matching for a conjunction and matching for a disjunction.
+     *
+     * @param operator The logical operator combining the operation with others
+     * @return The rank of the operation
+     */
+    public double rank(SearchLogicalOperator operator) {
+        double decisive = operator == OR ? selectivity : 1 - selectivity;
+        return cost / Math.max(decisive, MINIMUM_PROBABILITY);
+    }
+
+}
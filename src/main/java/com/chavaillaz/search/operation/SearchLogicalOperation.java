@@ -1,14 +1,20 @@
 package com.chavaillaz.search.operation;
 
 import com.chavaillaz.search.MultiLineToStringStyle;
+import com.chavaillaz.search.SearchException;
+import com.chavaillaz.search.data.SearchColumnarBatch;
 import com.chavaillaz.search.data.SearchDataProvider;
 import com.chavaillaz.search.operator.SearchLogicalOperator;
 import com.chavaillaz.search.parser.SearchExpressionField;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import static com.chavaillaz.search.operator.SearchLogicalOperator.AND;
 
@@ -17,8 +23,9 @@ import static com.chavaillaz.search.operator.SearchLogicalOperator.AND;
  */
 public class SearchLogicalOperation implements SearchOperation {
 
-    private final List<SearchOperation> operations;
+    private List<SearchOperation> operations;
     private SearchLogicalOperator operator;
+    private boolean frozen;
 
     /**
      * Creates a new logical operation.
@@ -51,11 +58,13 @@ public class SearchLogicalOperation implements SearchOperation {
      * @param operator The logical operator
      */
     public void setOperator(SearchLogicalOperator operator) {
+        checkNotFrozen();
         this.operator = operator;
     }
 
     /**
      * Gets the list of children operations.
+     * The list cannot be modified when the operation is frozen.
      *
      * @return The list of children operations
      */
@@ -69,9 +78,16 @@ public class SearchLogicalOperation implements SearchOperation {
      * @param operation The operation to add as child
      */
     public void addOperation(SearchOperation operation) {
+        checkNotFrozen();
         this.operations.add(operation);
     }
 
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new SearchException("The logical operation is frozen and cannot be modified");
+        }
+    }
+
     @Override
     public boolean match(SearchDataProvider dataProvider) {
         return getOperator().compute(operations.stream()
@@ -80,12 +96,93 @@ public class SearchLogicalOperation implements SearchOperation {
     }
 
     @Override
-    public List<SearchExpressionField> getMatchingFields(SearchDataProvider dataProvider) {
-        return match(dataProvider) ? operations.stream()
-                .filter(operation -> operation.match(dataProvider))
-                .map(operation -> operation.getMatchingFields(dataProvider))
-                .flatMap(Collection::stream)
-                .toList() : new ArrayList<>();
+    public BitSet match(SearchColumnarBatch batch) {
+        return getOperator().select(operations, operation -> operation.match(batch), batch.size());
+    }
+
+    /**
+     * Indicates if the data from the provider matches the current operation and its children,
+     * adding the fields of the matching children to the given list during the same evaluation.
+     * Each child is evaluated once; all of them are evaluated to collect their fields,
+     * except for a conjunction, which stops at its first child not matching.
+     * The fields added by a non-matching operation are removed by rolling the list back to its size before it.
+     *
+     * @param dataProvider   The provider for the data to match with the operation
+     * @param matchingFields The list in which add the fields that match the operation
+     * @return {@link Boolean#TRUE} if the data matches the operation, {@link Boolean#FALSE} otherwise
+     */
+    @Override
+    public boolean match(SearchDataProvider dataProvider, List<SearchExpressionField> matchingFields) {
+        int start = matchingFields.size();
+        boolean conjunction = getOperator() == AND;
+        boolean result = conjunction;
+        for (SearchOperation operation : operations) {
+            boolean operationResult = operation.match(dataProvider, matchingFields);
+            if (conjunction && !operationResult) {
+                result = false;
+                break;
+            } else if (!conjunction && operationResult) {
+                result = true;
+            }
+        }
+
+        if (!result) {
+            matchingFields.subList(start, matchingFields.size()).clear();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the children operations in the order in which they are evaluated once compiled.
+     * They are sorted by {@link SearchEstimate#rank(SearchLogicalOperator)}, keeping their order when equal,
+     * so that the cheapest operations most likely to decide the result are evaluated first.
+     *
+     * @return The list of children operations in their evaluation order
+     */
+    public List<SearchOperation> getEvaluationOrder() {
+        SearchLogicalOperator logicalOperator = getOperator();
+        double[] ranks = operations.stream()
+                .mapToDouble(operation -> operation.estimate().rank(logicalOperator))
+                .toArray();
+        return IntStream.range(0, operations.size()).boxed()
+                .sorted(Comparator.comparingDouble(index -> ranks[index]))
+                .map(operations::get)
+                .toList();
+    }
+
+    /**
+     * Estimates the operation from its children evaluated in their {@link #getEvaluationOrder()}.
+     *
+     * @return The estimate of the operation
+     */
+    @Override
+    public SearchEstimate estimate() {
+        SearchLogicalOperator logicalOperator = getOperator();
+        return SearchEstimate.combine(logicalOperator, operations.stream()
+                .map(SearchOperation::estimate)
+                .sorted(Comparator.comparingDouble(estimate -> estimate.rank(logicalOperator)))
+                .toList());
+    }
+
+    @Override
+    public Predicate<SearchDataProvider> compile() {
+        return getOperator().compile(getEvaluationOrder().stream()
+                .map(SearchOperation::compile)
+                .toList());
+    }
+
+    @Override
+    public void freeze() {
+        if (!frozen) {
+            operations.forEach(SearchOperation::freeze);
+            operations = List.copyOf(operations);
+            frozen = true;
+        }
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
     }
 
     @Override
@@ -1,7 +1,11 @@
 package com.chavaillaz.search.operation;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.Predicate;
 
+import com.chavaillaz.search.data.SearchColumnarBatch;
 import com.chavaillaz.search.data.SearchDataProvider;
 import com.chavaillaz.search.parser.SearchExpressionField;
 
@@ -18,13 +22,37 @@ public interface SearchOperation {
      */
     boolean match(SearchDataProvider dataProvider);
 
+    /**
+     * Indicates which rows of the given batch are matching with the current operation and its children.
+     *
+     * @param batch The batch of records stored by columns
+     * @return The indexes of the rows matching the operation
+     */
+    BitSet match(SearchColumnarBatch batch);
+
+    /**
+     * Indicates if the data from the provider matches the current operation and its children,
+     * adding the fields of the matching operations to the given list during the same evaluation.
+     * Nothing is added to the list when the operation does not match.
+     *
+     * @param dataProvider   The provider for the data to match with the operation
+     * @param matchingFields The list in which add the fields that match the operation
+     * @return {@link Boolean#TRUE} if the data matches the operation, {@link Boolean#FALSE} otherwise
+     */
+    boolean match(SearchDataProvider dataProvider, List<SearchExpressionField> matchingFields);
+
     /**
      * Gets all the fields that match with the current operation and its children.
+     * The operation is evaluated only once, see {@link #match(SearchDataProvider, List)}.
      *
      * @param dataProvider The provider for the data to match with the operation
      * @return The list of fields that match the operation
      */
-    List<SearchExpressionField> getMatchingFields(SearchDataProvider dataProvider);
+    default List<SearchExpressionField> getMatchingFields(SearchDataProvider dataProvider) {
+        List<SearchExpressionField> matchingFields = new ArrayList<>();
+        match(dataProvider, matchingFields);
+        return matchingFields;
+    }
 
     /**
      * Gets all fields in the current operation and its children.
@@ -33,4 +61,37 @@ public interface SearchOperation {
      */
     List<SearchExpressionField> getFields();
 
+    /**
+     * Estimates statically the cost and the selectivity of the current operation and its children,
+     * from the cost and the selectivity declared on their fields.
+     *
+     * @return The estimate of the operation
+     */
+    SearchEstimate estimate();
+
+    /**
+     * Compiles the current operation and its children into a predicate.
+     * Converters, operators and values are bound once, so that the predicate can be evaluated
+     * repeatedly with the same result as {@link #match(SearchDataProvider)} but without any lookup.
+     * The children of logical operations are evaluated in the order of their {@link #estimate()}.
+     * The evaluations of the predicate are not measured, the entry points evaluating it wrap it
+     * with {@link com.chavaillaz.search.metrics.SearchMetrics#observe} to report them.
+     *
+     * @return The predicate indicating if the data from the provider matches the operation
+     */
+    Predicate<SearchDataProvider> compile();
+
+    /**
+     * Freezes the current operation and its children, so that they cannot be modified anymore.
+     * A frozen operation can safely be shared and evaluated by multiple threads.
+     */
+    void freeze();
+
+    /**
+     * Indicates if the current operation is frozen.
+     *
+     * @return {@link Boolean#TRUE} if the operation cannot be modified anymore, {@link Boolean#FALSE} otherwise
+     */
+    boolean isFrozen();
+
 }
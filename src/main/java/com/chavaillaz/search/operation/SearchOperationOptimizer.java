@@ -0,0 +1,302 @@
+package com.chavaillaz.search.operation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.chavaillaz.search.converter.NumberSearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverterResult;
+import com.chavaillaz.search.converter.SearchStringMatcher;
+import com.chavaillaz.search.converter.StringSearchDataConverter;
+import com.chavaillaz.search.operator.SearchLogicalOperator;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionField;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Optimizer rewriting operation trees into equivalent trees that are cheaper to evaluate and easier to index.
+ * <p>
+ * The following rewritings are applied, from the leaves to the root:
+ * <ul>
+ * <li>Logical operations with the same operator as their parent are flattened into it</li>
+ * <li>Duplicated relational operations are removed</li>
+ * <li>An operation and its inverse fold into a contradiction (conjunction) or a tautology (disjunction)</li>
+ * <li>Equalities on the same field are merged into a list when the field compares lists by membership,
+ * and two different equalities required on the same field fold into a contradiction</li>
+ * <li>Intervals on the same numeric field are intersected or, when overlapping, united;
+ * disjoint intervals required together fold into a contradiction</li>
+ * <li>Constants are absorbed by their parent, and logical operations with a single child are replaced by it</li>
+ * </ul>
+ * Inversions only exist on relational operations, so De Morgan's laws are applied when merging them:
+ * inverted operations of a conjunction are merged like non-inverted operations of a disjunction, and conversely.
+ * </p>
+ * <p>
+ * The given tree is never modified: unchanged operations are shared with the optimized tree, which is not frozen.
+ * </p>
+ */
+@UtilityClass
+public class SearchOperationOptimizer {
+
+    /**
+     * Optimizes the given operation.
+     *
+     * @param operation The search operation
+     * @return The equivalent optimized operation
+     */
+    public static SearchOperation optimize(SearchOperation operation) {
+        if (operation instanceof SearchLogicalOperation logicalOperation) {
+            SearchLogicalOperator operator = logicalOperation.getOperator();
+            List<SearchOperation> children = new ArrayList<>();
+            for (SearchOperation child : logicalOperation.getOperations()) {
+                SearchOperation optimized = optimize(child);
+                if (optimized instanceof SearchLogicalOperation logicalChild && logicalChild.getOperator() == operator) {
+                    children.addAll(logicalChild.getOperations());
+                } else {
+                    children.add(optimized);
+                }
+            }
+            return simplify(operator, children);
+        }
+        return operation;
+    }
+
+    private static SearchOperation simplify(SearchLogicalOperator operator, List<SearchOperation> children) {
+        boolean conjunction = operator == SearchLogicalOperator.AND;
+        SearchConstantOperation absorbing = SearchConstantOperation.of(!conjunction);
+
+        Set<LeafKey> leaves = new LinkedHashSet<>();
+        List<SearchOperation> remaining = new ArrayList<>();
+        for (SearchOperation child : children) {
+            if (child instanceof SearchConstantOperation) {
+                if (child == absorbing) {
+                    return absorbing;
+                }
+                continue;
+            }
+            if (child instanceof SearchRelationalOperation leaf) {
+                LeafKey key = LeafKey.of(leaf);
+                if (leaves.contains(key.complement())) {
+                    return absorbing;
+                } else if (!leaves.add(key)) {
+                    continue;
+                }
+            }
+            remaining.add(child);
+        }
+
+        remaining = mergeEqualities(conjunction, remaining);
+        if (remaining != null) {
+            remaining = mergeIntervals(conjunction, remaining);
+        }
+
+        if (remaining == null) {
+            return absorbing;
+        } else if (remaining.isEmpty()) {
+            return SearchConstantOperation.of(conjunction);
+        } else if (remaining.size() == 1) {
+            return remaining.get(0);
+        }
+
+        SearchLogicalOperation result = new SearchLogicalOperation();
+        result.setOperator(operator);
+        remaining.forEach(result::addOperation);
+        return result;
+    }
+
+    /**
+     * Indicates if the given relational operation is united with the other ones of the same field,
+     * which is the case for non-inverted operations in a disjunction and inverted operations in a conjunction.
+     *
+     * @param conjunction {@link Boolean#TRUE} if the parent is a conjunction, {@link Boolean#FALSE} otherwise
+     * @param operation   The relational operation
+     * @return {@link Boolean#TRUE} if the operation is united, {@link Boolean#FALSE} if it is intersected
+     */
+    private static boolean isUnited(boolean conjunction, SearchRelationalOperation operation) {
+        return conjunction == operation.isInverse();
+    }
+
+    private static List<SearchOperation> mergeEqualities(boolean conjunction, List<SearchOperation> operations) {
+        Map<GroupKey, List<SearchRelationalOperation>> unions = new LinkedHashMap<>();
+        Map<GroupKey, Object> intersections = new HashMap<>();
+        for (SearchOperation operation : operations) {
+            if (operation instanceof SearchRelationalOperation leaf && leaf.getField() != null && leaf.getValue() != null) {
+                GroupKey key = new GroupKey(leaf.getField(), leaf.isInverse());
+                if (isUnited(conjunction, leaf) && hasMembership(leaf)
+                        && (leaf.getOperator() == SearchRelationalOperator.EQUALS || leaf.getOperator() == SearchRelationalOperator.LIST)) {
+                    unions.computeIfAbsent(key, group -> new ArrayList<>()).add(leaf);
+                } else if (!isUnited(conjunction, leaf) && hasEquality(leaf) && leaf.getOperator() == SearchRelationalOperator.EQUALS) {
+                    Object previous = intersections.putIfAbsent(key, leaf.getValue());
+                    if (previous != null && !isEqual(leaf, previous, leaf.getValue())) {
+                        return null;
+                    }
+                }
+            }
+        }
+
+        List<SearchOperation> merged = new ArrayList<>();
+        for (SearchOperation operation : operations) {
+            List<SearchRelationalOperation> group = operation instanceof SearchRelationalOperation leaf
+                    ? unions.get(new GroupKey(leaf.getField(), leaf.isInverse()))
+                    : null;
+            if (group == null || group.size() < 2 || !group.contains(operation)) {
+                merged.add(operation);
+            } else if (group.get(0) == operation) {
+                Set<Object> values = new LinkedHashSet<>();
+                group.forEach(leaf -> {
+                    if (leaf.getValue() instanceof List<?> list) {
+                        values.addAll(list);
+                    } else {
+                        values.add(leaf.getValue());
+                    }
+                });
+                merged.add(relational(group.get(0), SearchRelationalOperator.LIST, new ArrayList<>(values)));
+            }
+        }
+        return merged;
+    }
+
+    private static List<SearchOperation> mergeIntervals(boolean conjunction, List<SearchOperation> operations) {
+        Map<GroupKey, List<SearchRelationalOperation>> groups = new LinkedHashMap<>();
+        for (SearchOperation operation : operations) {
+            if (operation instanceof SearchRelationalOperation leaf && isInterval(leaf)) {
+                groups.computeIfAbsent(new GroupKey(leaf.getField(), leaf.isInverse()), group -> new ArrayList<>()).add(leaf);
+            }
+        }
+
+        Map<SearchRelationalOperation, List<SearchOperation>> replacements = new HashMap<>();
+        for (List<SearchRelationalOperation> group : groups.values()) {
+            Class<?> boundType = bounds(group.get(0)).get(0).getClass();
+            if (group.size() < 2 || !group.stream().allMatch(leaf -> bounds(leaf).get(0).getClass() == boundType)) {
+                continue;
+            }
+
+            List<SearchOperation> replacement = new ArrayList<>();
+            if (isUnited(conjunction, group.get(0))) {
+                List<List<Object>> intervals = new ArrayList<>(group.stream().map(SearchOperationOptimizer::bounds).toList());
+                Comparator<List<Object>> byStart = (first, second) -> compare(first.get(0), second.get(0));
+                intervals.sort(byStart);
+                List<Object> current = intervals.get(0);
+                for (List<Object> interval : intervals.subList(1, intervals.size())) {
+                    if (compare(interval.get(0), current.get(1)) <= 0) {
+                        current = List.of(current.get(0), compare(interval.get(1), current.get(1)) > 0 ? interval.get(1) : current.get(1));
+                    } else {
+                        replacement.add(relational(group.get(0), SearchRelationalOperator.INTERVAL, new ArrayList<>(current)));
+                        current = interval;
+                    }
+                }
+                replacement.add(relational(group.get(0), SearchRelationalOperator.INTERVAL, new ArrayList<>(current)));
+            } else {
+                Object start = bounds(group.get(0)).get(0);
+                Object end = bounds(group.get(0)).get(1);
+                for (SearchRelationalOperation leaf : group) {
+                    List<Object> interval = bounds(leaf);
+                    start = compare(interval.get(0), start) > 0 ? interval.get(0) : start;
+                    end = compare(interval.get(1), end) < 0 ? interval.get(1) : end;
+                }
+                if (compare(start, end) > 0) {
+                    return null;
+                }
+                List<Object> interval = new ArrayList<>();
+                interval.add(start);
+                interval.add(end);
+                replacement.add(relational(group.get(0), SearchRelationalOperator.INTERVAL, interval));
+            }
+
+            replacements.put(group.get(0), replacement);
+            group.subList(1, group.size()).forEach(leaf -> replacements.put(leaf, List.of()));
+        }
+
+        List<SearchOperation> merged = new ArrayList<>();
+        for (SearchOperation operation : operations) {
+            List<SearchOperation> replacement = operation instanceof SearchRelationalOperation leaf ? replacements.get(leaf) : null;
+            if (replacement != null) {
+                merged.addAll(replacement);
+            } else {
+                merged.add(operation);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isInterval(SearchRelationalOperation operation) {
+        return operation.getField() != null
+                && operation.getOperator() == SearchRelationalOperator.INTERVAL
+                && operation.getConverter() instanceof NumberSearchDataConverter
+                && operation.getValue() instanceof List<?> interval
+                && interval.size() == 2
+                && interval.get(0) instanceof Comparable
+                && interval.get(1) != null
+                && interval.get(0).getClass() == interval.get(1).getClass();
+    }
+
+    /**
+     * Gets the bounds of an interval, the lowest one first.
+     *
+     * @param operation The relational operation with an interval
+     * @return The bounds of the interval
+     */
+    private static List<Object> bounds(SearchRelationalOperation operation) {
+        List<?> interval = (List<?>) operation.getValue();
+        return compare(interval.get(0), interval.get(1)) <= 0
+                ? List.of(interval.get(0), interval.get(1))
+                : List.of(interval.get(1), interval.get(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object first, Object second) {
+        return ((Comparable<Object>) first).compareTo(second);
+    }
+
+    /**
+     * Indicates if the values of the field are compared by equality, so that different values cannot be equal.
+     */
+    private static boolean hasEquality(SearchRelationalOperation operation) {
+        SearchDataConverter converter = operation.getConverter();
+        return converter instanceof StringSearchDataConverter || converter instanceof NumberSearchDataConverter;
+    }
+
+    /**
+     * Indicates if lists of values of the field are compared by membership, so that they can replace equalities.
+     */
+    private static boolean hasMembership(SearchRelationalOperation operation) {
+        SearchDataConverter converter = operation.getConverter();
+        return converter instanceof NumberSearchDataConverter
+                || (converter instanceof StringSearchDataConverter stringConverter && stringConverter.isExact(operation.getField()));
+    }
+
+    private static boolean isEqual(SearchRelationalOperation operation, Object first, Object second) {
+        if (operation.getConverter() instanceof StringSearchDataConverter) {
+            return SearchStringMatcher.equals(first.toString(), second.toString(), operation.getField().isCaseSensitive());
+        }
+        return first.equals(second);
+    }
+
+    private static SearchRelationalOperation relational(SearchRelationalOperation model, SearchRelationalOperator operator, Object value) {
+        SearchRelationalOperation operation = new SearchRelationalOperation();
+        operation.setField(model.getField());
+        operation.setData(new SearchDataConverterResult(operator, value, model.isInverse()));
+        return operation;
+    }
+
+    private record GroupKey(SearchExpressionField field, boolean inverse) {
+
+    }
+
+    private record LeafKey(SearchExpressionField field, SearchRelationalOperator operator, Object value, boolean inverse) {
+
+        private static LeafKey of(SearchRelationalOperation operation) {
+            return new LeafKey(operation.getField(), operation.getOperator(), operation.getValue(), operation.isInverse());
+        }
+
+        private LeafKey complement() {
+            return new LeafKey(field, operator, value, !inverse);
+        }
+    }
+
+}
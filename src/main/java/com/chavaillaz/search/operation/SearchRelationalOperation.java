@@ -2,18 +2,23 @@ package com.chavaillaz.search.operation;
 
 import com.chavaillaz.search.MultiLineToStringStyle;
 import com.chavaillaz.search.SearchException;
+import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverterFactory;
 import com.chavaillaz.search.converter.SearchDataConverterResult;
+import com.chavaillaz.search.converter.SearchPrimitiveMatcher;
+import com.chavaillaz.search.data.SearchColumn;
+import com.chavaillaz.search.data.SearchColumnarBatch;
 import com.chavaillaz.search.data.SearchDataProvider;
 import com.chavaillaz.search.operator.SearchRelationalOperator;
 import com.chavaillaz.search.parser.SearchExpressionField;
+import com.chavaillaz.search.parser.SearchFieldCost;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
-import static com.chavaillaz.search.converter.SearchDataConverterFactory.findConverter;
 import static java.util.Collections.singletonList;
 
 /**
@@ -25,6 +30,7 @@ public class SearchRelationalOperation implements SearchOperation {
     private SearchRelationalOperator operator;
     private Object value;
     private boolean inverse;
+    private boolean frozen;
 
     /**
      * Creates a new relational operation.
@@ -48,6 +54,7 @@ public class SearchRelationalOperation implements SearchOperation {
      * @param field The field
      */
     public void setField(SearchExpressionField field) {
+        checkNotFrozen();
         this.field = field;
     }
 
@@ -69,41 +76,128 @@ public class SearchRelationalOperation implements SearchOperation {
         return value;
     }
 
+    /**
+     * Indicates if the result of the operation is inverted.
+     *
+     * @return {@link Boolean#TRUE} if the result is inverted, {@link Boolean#FALSE} otherwise
+     */
+    public boolean isInverse() {
+        return inverse;
+    }
+
     /**
      * Sets the data corresponding to the operation.
      *
      * @param data The data
      */
     public void setData(SearchDataConverterResult data) {
+        checkNotFrozen();
         this.value = data.getValue();
         this.operator = data.getOperator();
         this.inverse = data.isInverse();
     }
 
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new SearchException("The relational operation is frozen and cannot be modified");
+        }
+    }
+
     @Override
     public boolean match(SearchDataProvider dataProvider) {
         if (field != null) {
             return Stream.of(dataProvider.getFieldValue(field)).anyMatch(this::match);
         } else {
             if (inverse) {
-                return dataProvider.getAllFieldValue().stream().allMatch(this::match);
+                return dataProvider.allFieldValueMatch(this::match);
             } else {
-                return dataProvider.getAllFieldValue().stream().anyMatch(this::match);
+                return dataProvider.anyFieldValueMatch(this::match);
             }
         }
     }
 
     private boolean match(Object dataProviderValue) {
-        return inverse ^ Optional.ofNullable(field)
-                .map(SearchExpressionField::getConverter)
-                .or(() -> Optional.ofNullable(findConverter(field, String.class)))
-                .orElseThrow(() -> new SearchException("Neither a converter for field nor for type of " + field + " was found."))
-                .match(field, operator, value, dataProviderValue);
+        return inverse ^ getConverter().match(field, operator, value, dataProviderValue);
     }
 
+    /**
+     * Gets the converter used to match the values of the operation.
+     *
+     * @return The converter of the field, or the converter of its type otherwise
+     */
+    public SearchDataConverter getConverter() {
+        return SearchDataConverterFactory.getConverter(field);
+    }
+
+    /**
+     * Estimates the operation from the cost and the selectivity of its field.
+     * An operation on all the fields is considered as {@link SearchFieldCost#EXPENSIVE}.
+     *
+     * @return The estimate of the operation
+     */
     @Override
-    public List<SearchExpressionField> getMatchingFields(SearchDataProvider dataProvider) {
-        return match(dataProvider) ? getFields() : new ArrayList<>();
+    public SearchEstimate estimate() {
+        if (field == null) {
+            return new SearchEstimate(SearchFieldCost.EXPENSIVE.getWeight(), SearchExpressionField.DEFAULT_SELECTIVITY);
+        }
+        double selectivity = field.getSelectivity();
+        return new SearchEstimate(field.getCost().getWeight(), inverse ? 1 - selectivity : selectivity);
+    }
+
+    @Override
+    public Predicate<SearchDataProvider> compile() {
+        final SearchExpressionField boundField = field;
+        final boolean boundInverse = inverse;
+        final Predicate<Object> matcher = getConverter().compile(field, operator, value);
+
+        if (boundField != null && matcher instanceof SearchPrimitiveMatcher primitiveMatcher) {
+            return dataProvider -> boundInverse ^ primitiveMatcher.test(dataProvider, boundField);
+        } else if (boundField != null) {
+            return dataProvider -> boundInverse ^ matcher.test(dataProvider.getFieldValue(boundField));
+        } else if (boundInverse) {
+            return dataProvider -> !dataProvider.anyFieldValueMatch(matcher);
+        } else {
+            return dataProvider -> dataProvider.anyFieldValueMatch(matcher);
+        }
+    }
+
+    @Override
+    public BitSet match(SearchColumnarBatch batch) {
+        SearchColumn column = field != null ? batch.getColumn(field) : null;
+        BitSet selection = column != null ? column.select(getConverter(), field, operator, value) : null;
+
+        if (selection == null) {
+            // The column cannot evaluate the operator, fall back on the evaluation row by row
+            Predicate<SearchDataProvider> predicate = compile();
+            selection = new BitSet(batch.size());
+            for (int row = 0; row < batch.size(); row++) {
+                if (predicate.test(batch.getRow(row))) {
+                    selection.set(row);
+                }
+            }
+        } else if (inverse) {
+            selection.flip(0, batch.size());
+        }
+        return selection;
+    }
+
+    @Override
+    public void freeze() {
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    @Override
+    public boolean match(SearchDataProvider dataProvider, List<SearchExpressionField> matchingFields) {
+        boolean result = match(dataProvider);
+        if (result) {
+            matchingFields.add(field);
+        }
+        return result;
     }
 
     @Override
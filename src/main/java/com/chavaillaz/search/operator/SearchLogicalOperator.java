@@ -1,8 +1,9 @@
 package com.chavaillaz.search.operator;
 
+import java.util.BitSet;
 import java.util.List;
-
-import static org.apache.commons.lang3.EnumUtils.getEnum;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * Enumeration of logical operators used in a search expression.
@@ -14,14 +15,67 @@ public enum SearchLogicalOperator {
         public boolean compute(List<Boolean> values) {
             return values.stream().allMatch(value -> value);
         }
+
+        @Override
+        public <T> Predicate<T> compile(List<Predicate<T>> predicates) {
+            final Predicate<T>[] operands = toArray(predicates);
+            return value -> {
+                for (Predicate<T> operand : operands) {
+                    if (!operand.test(value)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        @Override
+        public <T> BitSet select(List<T> operands, Function<T, BitSet> selector, int size) {
+            BitSet selection = new BitSet(size);
+            selection.set(0, size);
+            for (T operand : operands) {
+                selection.and(selector.apply(operand));
+                if (selection.isEmpty()) {
+                    break;
+                }
+            }
+            return selection;
+        }
     },
     OR(1) {
         @Override
         public boolean compute(List<Boolean> values) {
             return values.stream().anyMatch(value -> value);
         }
+
+        @Override
+        public <T> Predicate<T> compile(List<Predicate<T>> predicates) {
+            final Predicate<T>[] operands = toArray(predicates);
+            return value -> {
+                for (Predicate<T> operand : operands) {
+                    if (operand.test(value)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+
+        @Override
+        public <T> BitSet select(List<T> operands, Function<T, BitSet> selector, int size) {
+            BitSet selection = new BitSet(size);
+            for (T operand : operands) {
+                selection.or(selector.apply(operand));
+                if (selection.cardinality() == size) {
+                    break;
+                }
+            }
+            return selection;
+        }
     };
 
+    private static final SearchLogicalOperator[] OPERATORS = values();
+
     private final int priority;
 
     /**
@@ -53,7 +107,44 @@ public enum SearchLogicalOperator {
      * @return The optional logical operator if it exists, {@code null} otherwise
      */
     public static SearchLogicalOperator search(String name) {
-        return getEnum(SearchLogicalOperator.class, name.trim().toUpperCase());
+        return search(name, 0, name.length());
+    }
+
+    /**
+     * Searches the logical operator whose name is in the given part of the text, ignoring its case and surrounding whitespaces.
+     * This method does not allocate anything and will not throw exception when the operator is not found.
+     *
+     * @param text  The text containing the name of the logical operator to search
+     * @param start The offset of the name in the text
+     * @param end   The offset of the end of the name in the text, excluded
+     * @return The optional logical operator if it exists, {@code null} otherwise
+     */
+    public static SearchLogicalOperator search(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        for (SearchLogicalOperator operator : OPERATORS) {
+            if (operator.hasName(text, start, end)) {
+                return operator;
+            }
+        }
+        return null;
+    }
+
+    private boolean hasName(CharSequence text, int start, int end) {
+        String name = name();
+        if (end - start != name.length()) {
+            return false;
+        }
+        for (int index = 0; index < name.length(); index++) {
+            if (Character.toUpperCase(text.charAt(start + index)) != name.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -64,4 +155,31 @@ public enum SearchLogicalOperator {
      */
     public abstract boolean compute(List<Boolean> values);
 
+    /**
+     * Combines the given predicates with the operator.
+     * The resulting predicate stops evaluating its operands as soon as the result is known.
+     *
+     * @param predicates The list of predicates for which apply the logical operator
+     * @param <T>        The type of the input of the predicates
+     * @return The predicate computing the operation
+     */
+    public abstract <T> Predicate<T> compile(List<Predicate<T>> predicates);
+
+    /**
+     * Computes the operator for the selections of the given operands.
+     * The operands are not selected anymore as soon as the result is known.
+     *
+     * @param operands The list of operands for which apply the logical operator
+     * @param selector The function giving the indexes selected by an operand
+     * @param size     The number of indexes that can be selected
+     * @param <T>      The type of the operands
+     * @return The indexes selected by the operation
+     */
+    public abstract <T> BitSet select(List<T> operands, Function<T, BitSet> selector, int size);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Predicate<T>[] toArray(List<Predicate<T>> predicates) {
+        return predicates.toArray(new Predicate[0]);
+    }
+
 }
@@ -6,8 +6,6 @@ import static com.chavaillaz.search.operator.SearchRelationalOperator.LIST;
 
 import java.util.Date;
 
-import org.apache.commons.lang3.ClassUtils;
-
 import com.chavaillaz.search.parser.SearchExpressionField;
 
 /**
@@ -32,12 +30,7 @@ public class SearchRelationalOperatorResolver {
             return value.contains(LIST_SEPARATOR) ? LIST : LIKE;
         }
 
-        Class<?> fieldType = field.getType();
-
-        if (fieldType.isPrimitive()) {
-            fieldType = ClassUtils.primitiveToWrapper(fieldType);
-        }
-
+        Class<?> fieldType = field.getWrapperType();
         SearchRelationalOperator operator = (field.getDefaultOperator() == null) ? LIKE : field.getDefaultOperator();
         if (value != null) {
             if (Number.class.isAssignableFrom(fieldType) || Date.class.isAssignableFrom(fieldType)) {
@@ -1,9 +1,12 @@
 package com.chavaillaz.search.parser;
 
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 
 import com.chavaillaz.search.MultiLineToStringStyle;
+import com.chavaillaz.search.SearchException;
 import com.chavaillaz.search.converter.SearchDataConverter;
+import com.chavaillaz.search.converter.SearchDataConverterFactory;
 import com.chavaillaz.search.operator.SearchRelationalOperator;
 
 /**
@@ -11,17 +14,28 @@ import com.chavaillaz.search.operator.SearchRelationalOperator;
  */
 public class SearchExpressionField {
 
+    public static final double DEFAULT_SELECTIVITY = 0.5;
+
     private String name;
     private Class<?> type;
     private SearchDataConverter converter;
     private SearchRelationalOperator defaultOperator;
     private boolean caseSensitive;
+    private Class<?> wrapperType;
+    private SearchFieldCost cost;
+    private double selectivity;
+    private int ordinal;
+    private transient SearchExpressionPlan plan;
+    private boolean frozen;
 
     /**
      * Creates a new field.
      */
     public SearchExpressionField() {
         caseSensitive = false;
+        cost = SearchFieldCost.NORMAL;
+        selectivity = DEFAULT_SELECTIVITY;
+        ordinal = -1;
     }
 
     /**
@@ -39,6 +53,7 @@ public class SearchExpressionField {
      * @param name The field name
      */
     public void setName(String name) {
+        checkNotFrozen();
         this.name = name;
     }
 
@@ -57,11 +72,22 @@ public class SearchExpressionField {
      * @param type The field type
      */
     public void setType(Class<?> type) {
+        checkNotFrozen();
         this.type = type;
     }
 
+    /**
+     * Gets the type of the field, with primitive types replaced by their wrapper.
+     *
+     * @return The field type as an object type
+     */
+    public Class<?> getWrapperType() {
+        return frozen ? wrapperType : ClassUtils.primitiveToWrapper(type);
+    }
+
     /**
      * Gets the converter of the field if existing.
+     * Once the field is frozen, this is the converter of its type when no converter was set.
      *
      * @return The converter if it exists, {@code null} otherwise
      */
@@ -75,6 +101,7 @@ public class SearchExpressionField {
      * @param converter The field converter
      */
     public void setConverter(SearchDataConverter converter) {
+        checkNotFrozen();
         this.converter = converter;
     }
 
@@ -93,6 +120,7 @@ public class SearchExpressionField {
      * @param operator The default relational operator
      */
     public void setDefaultOperator(SearchRelationalOperator operator) {
+        checkNotFrozen();
         this.defaultOperator = operator;
     }
 
@@ -111,9 +139,111 @@ public class SearchExpressionField {
      * @param caseSensitive {@link Boolean#TRUE} if the field is case sensitive, {@link Boolean#FALSE} otherwise
      */
     public void setCaseSensitive(boolean caseSensitive) {
+        checkNotFrozen();
         this.caseSensitive = caseSensitive;
     }
 
+    /**
+     * Gets the cost to get the value of the field from a data provider.
+     *
+     * @return The field cost, {@link SearchFieldCost#NORMAL} by default
+     */
+    public SearchFieldCost getCost() {
+        return cost;
+    }
+
+    /**
+     * Sets the cost to get the value of the field from a data provider.
+     * Compiled logical operations evaluate the operations on cheaper fields first.
+     *
+     * @param cost The field cost
+     */
+    public void setCost(SearchFieldCost cost) {
+        checkNotFrozen();
+        this.cost = cost != null ? cost : SearchFieldCost.NORMAL;
+    }
+
+    /**
+     * Gets the estimated probability that a search on the field matches a record.
+     *
+     * @return The field selectivity between 0 and 1, {@link #DEFAULT_SELECTIVITY} by default
+     */
+    public double getSelectivity() {
+        return selectivity;
+    }
+
+    /**
+     * Sets the estimated probability that a search on the field matches a record.
+     * Compiled logical operations evaluate first the operations most likely to decide their result.
+     *
+     * @param selectivity The field selectivity between 0 and 1
+     */
+    public void setSelectivity(double selectivity) {
+        checkNotFrozen();
+        if (!(selectivity >= 0 && selectivity <= 1)) {
+            throw new SearchException("The selectivity of the field " + name + " must be between 0 and 1");
+        }
+        this.selectivity = selectivity;
+    }
+
+    /**
+     * Gets the ordinal of the field, assigned by the plan in which it has been added.
+     * Ordinals are dense, starting at zero, so that the values of the fields can be stored in an array.
+     * As the ordinal is specific to its plan, a field can only be added to a single plan.
+     *
+     * @return The ordinal of the field, or {@code -1} if the field has not been added to any plan
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Sets the plan of the field and its ordinal in this plan.
+     *
+     * @param plan    The plan in which the field is added
+     * @param ordinal The ordinal of the field in its plan
+     * @throws SearchException If the field has already been added to another plan
+     */
+    void setOrdinal(SearchExpressionPlan plan, int ordinal) {
+        if (this.plan != null && this.plan != plan) {
+            throw new SearchException("The field " + name + " already belongs to another plan");
+        }
+        if (this.ordinal != ordinal) {
+            checkNotFrozen();
+            this.ordinal = ordinal;
+        }
+        this.plan = plan;
+    }
+
+    /**
+     * Freezes the field, so that it cannot be modified anymore.
+     * The converter and the wrapper type of the field are resolved once and kept.
+     */
+    public void freeze() {
+        if (!frozen) {
+            if (converter == null && type != null) {
+                converter = SearchDataConverterFactory.findConverter(type);
+            }
+            wrapperType = ClassUtils.primitiveToWrapper(type);
+            frozen = true;
+        }
+    }
+
+    /**
+     * Indicates if the field is frozen.
+     *
+     * @return {@link Boolean#TRUE} if the field cannot be modified anymore, {@link Boolean#FALSE} otherwise
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new SearchException("The field " + name + " is frozen and cannot be modified");
+        }
+    }
+
     @Override
     public String toString() {
         return ReflectionToStringBuilder.toString(this, new MultiLineToStringStyle());
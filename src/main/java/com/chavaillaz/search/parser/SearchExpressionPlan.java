@@ -1,12 +1,14 @@
 package com.chavaillaz.search.parser;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 
 import com.chavaillaz.search.MultiLineToStringStyle;
+import com.chavaillaz.search.SearchException;
 import com.chavaillaz.search.operator.SearchRelationalOperatorResolver;
 
 /**
@@ -16,6 +18,7 @@ public class SearchExpressionPlan {
 
     private final SearchRelationalOperatorResolver operatorResolver;
     private final Map<String, SearchExpressionField> fields;
+    private volatile SearchFieldTable fieldTable;
 
     /**
      * Creates a plan with the given relational operator resolver.
@@ -42,15 +45,32 @@ public class SearchExpressionPlan {
      * @return The list of all fields
      */
     public Collection<SearchExpressionField> getFields() {
-        return fields.values();
+        return isFrozen() ? Collections.unmodifiableCollection(fields.values()) : fields.values();
     }
 
     /**
-     * Adds a new field to the plan.
+     * Gets the number of fields defined in the current plan, which is also the number of their ordinals.
+     *
+     * @return The number of fields
+     */
+    public int getFieldCount() {
+        return fields.size();
+    }
+
+    /**
+     * Adds a new field to the plan and assigns its ordinal (see {@link SearchExpressionField#getOrdinal()}).
+     * A field replacing another one with the same name takes its ordinal.
+     * As the ordinal is specific to the plan, the field cannot be added to another plan afterwards.
      *
      * @param field The field to add
+     * @throws SearchException If the plan is frozen or if the field has already been added to another plan
      */
-    public void addField(SearchExpressionField field) {
+    public synchronized void addField(SearchExpressionField field) {
+        if (isFrozen()) {
+            throw new SearchException("The plan is frozen and cannot be modified");
+        }
+        SearchExpressionField replaced = this.fields.get(field.getName());
+        field.setOrdinal(this, replaced != null ? replaced.getOrdinal() : fields.size());
         this.fields.put(field.getName(), field);
     }
 
@@ -61,7 +81,44 @@ public class SearchExpressionPlan {
      * @return The field found with the given name
      */
     public SearchExpressionField getField(String name) {
-        return this.fields.get(name);
+        return isFrozen() ? fieldTable.get(name) : this.fields.get(name);
+    }
+
+    /**
+     * Gets the field whose name is in the given part of the text.
+     * The name is not copied when the plan is frozen.
+     *
+     * @param text  The text containing the name of the desired field
+     * @param start The offset of the name in the text
+     * @param end   The offset of the end of the name in the text, excluded
+     * @return The field found with the given name
+     */
+    SearchExpressionField getField(CharSequence text, int start, int end) {
+        return isFrozen() ? fieldTable.get(text, start, end) : this.fields.get(text.subSequence(start, end).toString());
+    }
+
+    /**
+     * Freezes the plan and all its fields, so that they cannot be modified anymore.
+     * The converter of each field is resolved once, and the fields are put in a table with a perfect hash of their names.
+     * A frozen plan can safely be shared between threads, the table being published once all the fields are frozen.
+     *
+     * @return The current plan, frozen
+     */
+    public synchronized SearchExpressionPlan freeze() {
+        if (!isFrozen()) {
+            fields.values().forEach(SearchExpressionField::freeze);
+            fieldTable = new SearchFieldTable(fields.values());
+        }
+        return this;
+    }
+
+    /**
+     * Indicates if the plan is frozen.
+     *
+     * @return {@link Boolean#TRUE} if the plan cannot be modified anymore, {@link Boolean#FALSE} otherwise
+     */
+    public boolean isFrozen() {
+        return fieldTable != null;
     }
 
     @Override
@@ -0,0 +1,33 @@
+package com.chavaillaz.search.parser;
+
+/**
+ * Enumeration of the costs to get the value of a field from a data provider.
+ */
+public enum SearchFieldCost {
+
+    CHEAP(1),
+    NORMAL(10),
+    EXPENSIVE(100);
+
+    private final double weight;
+
+    /**
+     * Creates a new field cost.
+     * The weight is the relative time to get and match the value of a field with this cost.
+     *
+     * @param weight The relative cost of a field
+     */
+    SearchFieldCost(double weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Gets the relative time to get and match the value of a field with this cost.
+     *
+     * @return The weight of the cost
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.chavaillaz.search.parser;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable table of fields by name, using a perfect hash computed when the table is created.
+ * <p>
+ * Each name has its own slot, so that a lookup only computes one index and compares one name.
+ * When no perfect hash can be found, for instance because two names have the same hash code
+ * or a name is {@code null}, the table falls back on a {@link HashMap}.
+ * </p>
+ */
+final class SearchFieldTable {
+
+    private static final int MAXIMUM_ATTEMPTS = 64;
+    private static final int MAXIMUM_LOAD_SHIFT = 6;
+
+    private final String[] names;
+    private final SearchExpressionField[] fields;
+    private final Map<String, SearchExpressionField> fallback;
+    private final int multiplier;
+    private final int shift;
+
+    /**
+     * Creates a new table for the given fields.
+     *
+     * @param fields The fields to put in the table
+     */
+    SearchFieldTable(Collection<SearchExpressionField> fields) {
+        int minimumBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, fields.size() * 2 - 1));
+        for (int bits = minimumBits; bits <= minimumBits + MAXIMUM_LOAD_SHIFT; bits++) {
+            for (int attempt = 0; attempt < MAXIMUM_ATTEMPTS; attempt++) {
+                String[] candidateNames = new String[1 << bits];
+                SearchExpressionField[] candidateFields = new SearchExpressionField[1 << bits];
+                // Odd multipliers derived from the golden ratio
+                int candidateMultiplier = 0x9E3779B9 * (2 * attempt + 1) | 1;
+                int candidateShift = 32 - bits;
+                if (place(fields, candidateNames, candidateFields, candidateMultiplier, candidateShift)) {
+                    this.names = candidateNames;
+                    this.fields = candidateFields;
+                    this.multiplier = candidateMultiplier;
+                    this.shift = candidateShift;
+                    this.fallback = null;
+                    return;
+                }
+            }
+        }
+
+        this.names = null;
+        this.fields = null;
+        this.multiplier = 0;
+        this.shift = 0;
+        this.fallback = new HashMap<>();
+        fields.forEach(field -> fallback.put(field.getName(), field));
+    }
+
+    private static boolean place(Collection<SearchExpressionField> fields, String[] candidateNames, SearchExpressionField[] candidateFields,
+                                 int multiplier, int shift) {
+        for (SearchExpressionField field : fields) {
+            if (field.getName() == null) {
+                return false;
+            }
+            int index = index(field.getName().hashCode(), multiplier, shift);
+            if (candidateNames[index] != null) {
+                return false;
+            }
+            candidateNames[index] = field.getName();
+            candidateFields[index] = field;
+        }
+        return true;
+    }
+
+    private static int index(int hash, int multiplier, int shift) {
+        return (hash * multiplier) >>> shift;
+    }
+
+    private int index(int hash) {
+        return index(hash, multiplier, shift);
+    }
+
+    /**
+     * Gets the field with the given name.
+     *
+     * @param name The name of the field
+     * @return The field found or {@code null} otherwise
+     */
+    SearchExpressionField get(String name) {
+        if (fallback != null) {
+            return fallback.get(name);
+        } else if (name == null) {
+            return null;
+        }
+        int index = index(name.hashCode());
+        return name.equals(names[index]) ? fields[index] : null;
+    }
+
+    /**
+     * Gets the field whose name is in the given part of the text, without any allocation.
+     *
+     * @param text  The text containing the name of the field
+     * @param start The offset of the name in the text
+     * @param end   The offset of the end of the name in the text, excluded
+     * @return The field found or {@code null} otherwise
+     */
+    SearchExpressionField get(CharSequence text, int start, int end) {
+        if (fallback != null) {
+            return fallback.get(text.subSequence(start, end).toString());
+        }
+        // Same hash code as the one of the name as string
+        int hash = 0;
+        for (int index = start; index < end; index++) {
+            hash = 31 * hash + text.charAt(index);
+        }
+        String name = names[index(hash)];
+        if (name == null || name.length() != end - start) {
+            return null;
+        }
+        for (int index = 0; index < name.length(); index++) {
+            if (name.charAt(index) != text.charAt(start + index)) {
+                return null;
+            }
+        }
+        return fields[index(hash)];
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.chavaillaz.search.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.operation.SearchRelationalOperation;
+
+/**
+ * Parser reusing the work of its previous parsing, for expressions parsed again after each edit like search-as-you-type.
+ * <p>
+ * The new expression is compared with the previous one to find the offset of the edit. The tokens ending before the edit
+ * are replayed from the previous parsing and only the tail of the expression is split into tokens again.
+ * The relational operations whose value ends before the edit are reused as they are, with their converted value,
+ * and only the logical operations are created again, their structure possibly depending on the operators of the tail.
+ * The trees returned by successive parsings therefore share their unchanged relational operations.
+ * </p>
+ * <p>
+ * When a parsing fails, nothing is reused by the next one.
+ * </p>
+ */
+public class SearchIncrementalParser extends SearchParser {
+
+    private String previousExpression;
+    private int editOffset;
+    private SearchLexer.Type[] tokenTypes = new SearchLexer.Type[16];
+    private int[] tokenOffsets = new int[16];
+    private int[] tokenEnds = new int[16];
+    private boolean[] tokenQuotes = new boolean[16];
+    private int tokenCount;
+    private final List<SearchRelationalOperation> leaves = new ArrayList<>();
+    private int[] leafEnds = new int[16];
+    private int leafCount;
+    private int reusableLeaves;
+    private volatile int reusedOperations;
+
+    /**
+     * Creates a new incremental parser with the given search plan.
+     *
+     * @param plan The search plan
+     */
+    public SearchIncrementalParser(SearchExpressionPlan plan) {
+        super(plan);
+    }
+
+    /**
+     * Parses the given expression, reusing the tokens and the relational operations
+     * of the previous parsing located before the first character that changed.
+     *
+     * @param searchExpression The search expression
+     * @return The final search operation created from the expression
+     * @throws SearchParseException If a bracket is not matched or if a value cannot be converted
+     */
+    @Override
+    public synchronized SearchOperation parse(String searchExpression) {
+        editOffset = previousExpression != null ? commonPrefixLength(previousExpression, searchExpression) : 0;
+        reusableLeaves = 0;
+        while (reusableLeaves < leaves.size() && leafEnds[reusableLeaves] < editOffset) {
+            reusableLeaves++;
+        }
+        leaves.subList(reusableLeaves, leaves.size()).clear();
+        leafCount = 0;
+        reusedOperations = 0;
+
+        try {
+            SearchOperation operation = super.parse(searchExpression);
+            leaves.subList(leafCount, leaves.size()).clear();
+            previousExpression = searchExpression;
+            return operation;
+        } catch (RuntimeException e) {
+            previousExpression = null;
+            tokenCount = 0;
+            leaves.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Parses the last parsed expression modified by the given edit.
+     * A failed parsing does not change the expression to which the edit applies.
+     *
+     * @param offset      The offset of the edit in the last parsed expression
+     * @param length      The number of characters removed at the offset
+     * @param replacement The characters inserted at the offset
+     * @return The final search operation created from the modified expression
+     * @throws SearchParseException If a bracket is not matched or if a value cannot be converted
+     */
+    public synchronized SearchOperation edit(int offset, int length, String replacement) {
+        String expression = parsedExpression;
+        return parse(expression.substring(0, offset) + replacement + expression.substring(offset + length));
+    }
+
+    /**
+     * Gets the number of relational operations of the previous parsing reused by the last parsing.
+     *
+     * @return The number of reused relational operations
+     */
+    public int getReusedOperationCount() {
+        return reusedOperations;
+    }
+
+    private static int commonPrefixLength(String previous, String current) {
+        int length = Math.min(previous.length(), current.length());
+        int index = 0;
+        while (index < length && previous.charAt(index) == current.charAt(index)) {
+            index++;
+        }
+        return index;
+    }
+
+    @Override
+    protected void tokenize(String searchExpression) {
+        int replayed = 0;
+        while (replayed < tokenCount && isUnchanged(replayed)) {
+            processToken(tokenTypes[replayed], tokenOffsets[replayed], tokenEnds[replayed], tokenQuotes[replayed]);
+            replayed++;
+        }
+
+        tokenCount = replayed;
+        SearchLexer lexer = new SearchLexer(searchExpression, replayed > 0 ? tokenEnds[replayed - 1] : 0);
+        for (SearchLexer.Type type = lexer.next(); type != SearchLexer.Type.END; type = lexer.next()) {
+            addToken(type, lexer.getOffset(), lexer.getEnd(), lexer.isQuoted());
+            processToken(type, lexer.getOffset(), lexer.getEnd(), lexer.isQuoted());
+        }
+    }
+
+    /**
+     * Indicates if a token of the previous parsing is unchanged by the edit.
+     * A word has to end before the edit, so that the delimiter ending it is unchanged too.
+     *
+     * @param index The index of the token
+     * @return {@link Boolean#TRUE} if the token can be replayed, {@link Boolean#FALSE} otherwise
+     */
+    private boolean isUnchanged(int index) {
+        return tokenTypes[index] == SearchLexer.Type.WORD
+                ? tokenEnds[index] < editOffset
+                : tokenEnds[index] <= editOffset;
+    }
+
+    private void addToken(SearchLexer.Type type, int offset, int end, boolean quoted) {
+        if (tokenCount == tokenTypes.length) {
+            int capacity = tokenCount * 2;
+            tokenTypes = Arrays.copyOf(tokenTypes, capacity);
+            tokenOffsets = Arrays.copyOf(tokenOffsets, capacity);
+            tokenEnds = Arrays.copyOf(tokenEnds, capacity);
+            tokenQuotes = Arrays.copyOf(tokenQuotes, capacity);
+        }
+        tokenTypes[tokenCount] = type;
+        tokenOffsets[tokenCount] = offset;
+        tokenEnds[tokenCount] = end;
+        tokenQuotes[tokenCount] = quoted;
+        tokenCount++;
+    }
+
+    @Override
+    protected void saveFieldValue() {
+        if (hasLastWord() && leafCount < reusableLeaves && leafEnds[leafCount] == wordEnd) {
+            // The tokens up to the delimiter ending the value are unchanged, and so is the operation
+            currentLogical.addOperation(leaves.get(leafCount));
+            leafCount++;
+            reusedOperations++;
+            mode = Mode.FIELD;
+        } else if (hasLastWord()) {
+            super.saveFieldValue();
+            addLeaf(currentRelational, wordEnd);
+        } else {
+            super.saveFieldValue();
+        }
+    }
+
+    private void addLeaf(SearchRelationalOperation operation, int end) {
+        if (leafCount == leafEnds.length) {
+            leafEnds = Arrays.copyOf(leafEnds, leafCount * 2);
+        }
+        if (leafCount < leaves.size()) {
+            leaves.set(leafCount, operation);
+        } else {
+            leaves.add(operation);
+        }
+        leafEnds[leafCount] = end;
+        leafCount++;
+    }
+
+}
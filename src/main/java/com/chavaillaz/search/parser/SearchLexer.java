@@ -0,0 +1,236 @@
+package com.chavaillaz.search.parser;
+
+import com.chavaillaz.search.operator.SearchLogicalOperator;
+
+/**
+ * Lexer splitting a search expression into tokens, without copying it.
+ * <p>
+ * The lexer is a cursor over the expression: each call to {@link #next()} moves to the next token,
+ * whose type and position are then given by the getters. The class of each character is found in a lookup table.
+ * The delimiters are the space, the brackets and the colon, each one being a token of one character.
+ * All the characters between two delimiters are a word, in which single or double quotes can protect delimiters:
+ * the quotes are not part of the text of the word (see {@link #getText()}), but are part of its position.
+ * </p>
+ */
+public class SearchLexer {
+
+    private static final byte WORD_CHARACTER = 0;
+    private static final byte SPACE_CHARACTER = 1;
+    private static final byte OPEN_CHARACTER = 2;
+    private static final byte CLOSE_CHARACTER = 3;
+    private static final byte COLON_CHARACTER = 4;
+    private static final byte QUOTE_CHARACTER = 5;
+    private static final byte[] CLASSES = new byte[128];
+    private static final Type[] DELIMITERS = {null, Type.SPACE, Type.OPEN, Type.CLOSE, Type.COLON};
+
+    static {
+        CLASSES[' '] = SPACE_CHARACTER;
+        CLASSES['('] = OPEN_CHARACTER;
+        CLASSES[')'] = CLOSE_CHARACTER;
+        CLASSES[':'] = COLON_CHARACTER;
+        CLASSES['"'] = QUOTE_CHARACTER;
+        CLASSES['\''] = QUOTE_CHARACTER;
+    }
+
+    private final CharSequence input;
+    private int position;
+    private Type type;
+    private int offset;
+    private boolean quoted;
+
+    /**
+     * Creates a new lexer for the given expression, starting at its beginning.
+     *
+     * @param input The search expression
+     */
+    public SearchLexer(CharSequence input) {
+        this(input, 0);
+    }
+
+    /**
+     * Creates a new lexer for the given expression, starting at the given offset.
+     * The offset has to be the start of a token, outside of any quote.
+     *
+     * @param input  The search expression
+     * @param offset The offset of the first token
+     */
+    public SearchLexer(CharSequence input, int offset) {
+        this.input = input;
+        this.position = offset;
+        this.offset = offset;
+    }
+
+    private static byte classOf(char character) {
+        return character < CLASSES.length ? CLASSES[character] : WORD_CHARACTER;
+    }
+
+    /**
+     * Moves to the next token of the expression.
+     *
+     * @return The type of the token, {@link Type#END} when the end of the expression is reached
+     */
+    public Type next() {
+        offset = position;
+        quoted = false;
+        if (position >= input.length()) {
+            type = Type.END;
+            return type;
+        }
+
+        byte characterClass = classOf(input.charAt(position));
+        if (characterClass != WORD_CHARACTER && characterClass != QUOTE_CHARACTER) {
+            position++;
+            type = DELIMITERS[characterClass];
+            return type;
+        }
+
+        char quote = 0;
+        while (position < input.length()) {
+            char character = input.charAt(position);
+            if (quote != 0) {
+                if (character == quote) {
+                    quote = 0;
+                }
+            } else {
+                characterClass = classOf(character);
+                if (characterClass == QUOTE_CHARACTER) {
+                    quote = character;
+                    quoted = true;
+                } else if (characterClass != WORD_CHARACTER) {
+                    break;
+                }
+            }
+            position++;
+        }
+        type = Type.WORD;
+        return type;
+    }
+
+    /**
+     * Gets the search expression.
+     *
+     * @return The input of the lexer
+     */
+    public CharSequence getInput() {
+        return input;
+    }
+
+    /**
+     * Gets the type of the current token.
+     *
+     * @return The token type, {@code null} before the first call to {@link #next()}
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the offset of the current token in the expression.
+     *
+     * @return The offset, starting at zero
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the length of the current token in the expression, including its quotes.
+     *
+     * @return The length of the token
+     */
+    public int getLength() {
+        return position - offset;
+    }
+
+    /**
+     * Gets the offset following the current token in the expression.
+     *
+     * @return The offset of the end of the token, excluded
+     */
+    public int getEnd() {
+        return position;
+    }
+
+    /**
+     * Gets the column of the current token in the expression.
+     *
+     * @return The column, starting at one
+     */
+    public int getColumn() {
+        return offset + 1;
+    }
+
+    /**
+     * Indicates if the current token contains quotes.
+     *
+     * @return {@link Boolean#TRUE} if the token is a word containing quotes, {@link Boolean#FALSE} otherwise
+     */
+    public boolean isQuoted() {
+        return quoted;
+    }
+
+    /**
+     * Gets the text of the current token, without its quotes.
+     *
+     * @return The text of the token
+     */
+    public String getText() {
+        return getText(input, offset, position, quoted);
+    }
+
+    /**
+     * Gets the text of a token, without its quotes.
+     *
+     * @param input  The search expression
+     * @param start  The offset of the token
+     * @param end    The offset of the end of the token, excluded
+     * @param quoted {@link Boolean#TRUE} if the token contains quotes, {@link Boolean#FALSE} otherwise
+     * @return The text of the token
+     */
+    static String getText(CharSequence input, int start, int end, boolean quoted) {
+        if (!quoted) {
+            return input.subSequence(start, end).toString();
+        }
+
+        StringBuilder text = new StringBuilder(end - start);
+        char quote = 0;
+        for (int index = start; index < end; index++) {
+            char character = input.charAt(index);
+            if (quote != 0 && character == quote) {
+                quote = 0;
+            } else if (quote == 0 && classOf(character) == QUOTE_CHARACTER) {
+                quote = character;
+            } else {
+                text.append(character);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Gets the logical operator written by the current token, without any allocation when the token has no quotes.
+     *
+     * @return The logical operator, or {@code null} if the token is not a logical operator
+     */
+    public SearchLogicalOperator getOperator() {
+        if (type != Type.WORD) {
+            return null;
+        }
+        return quoted ? SearchLogicalOperator.search(getText()) : SearchLogicalOperator.search(input, offset, position);
+    }
+
+    /**
+     * Types of the tokens.
+     */
+    public enum Type {
+
+        WORD,
+        SPACE,
+        OPEN,
+        CLOSE,
+        COLON,
+        END
+
+    }
+
+}
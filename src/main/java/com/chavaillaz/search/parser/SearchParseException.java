@@ -0,0 +1,53 @@
+package com.chavaillaz.search.parser;
+
+import com.chavaillaz.search.SearchException;
+
+/**
+ * Exception when a search expression cannot be parsed, indicating where the problem is in the expression.
+ */
+public class SearchParseException extends SearchException {
+
+    private final int offset;
+
+    /**
+     * Creates a new exception.
+     *
+     * @param description The description of the exception
+     * @param offset      The offset in the expression of the token causing the exception
+     */
+    public SearchParseException(String description, int offset) {
+        super(description + " at column " + (offset + 1));
+        this.offset = offset;
+    }
+
+    /**
+     * Creates a new exception.
+     *
+     * @param description The description of the exception
+     * @param offset      The offset in the expression of the token causing the exception
+     * @param exception   The root cause of this exception
+     */
+    public SearchParseException(String description, int offset, Throwable exception) {
+        super(description + " at column " + (offset + 1), exception);
+        this.offset = offset;
+    }
+
+    /**
+     * Gets the offset in the expression of the token causing the exception.
+     *
+     * @return The offset, starting at zero
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the column in the expression of the token causing the exception.
+     *
+     * @return The column, starting at one
+     */
+    public int getColumn() {
+        return offset + 1;
+    }
+
+}
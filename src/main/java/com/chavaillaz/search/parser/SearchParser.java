@@ -4,6 +4,11 @@ import com.chavaillaz.search.SearchException;
 import com.chavaillaz.search.converter.SearchDataConverter;
 import com.chavaillaz.search.converter.SearchDataConverterResult;
 import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.evaluation.SearchBatchMatcher;
+import com.chavaillaz.search.evaluation.SearchPredicate;
+import com.chavaillaz.search.metrics.SearchEvaluationEvent;
+import com.chavaillaz.search.metrics.SearchMetrics;
+import com.chavaillaz.search.metrics.SearchParseEvent;
 import com.chavaillaz.search.operation.SearchLogicalOperation;
 import com.chavaillaz.search.operation.SearchOperation;
 import com.chavaillaz.search.operation.SearchRelationalOperation;
@@ -11,12 +16,15 @@ import com.chavaillaz.search.operator.SearchLogicalOperator;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Deque;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
-import static com.chavaillaz.search.converter.SearchDataConverterFactory.findConverter;
-import static org.apache.commons.lang3.ObjectUtils.allNotNull;
+import static com.chavaillaz.search.converter.SearchDataConverterFactory.getConverter;
 
 /**
  * Parser of simple search expressions.
@@ -25,13 +33,21 @@ import static org.apache.commons.lang3.ObjectUtils.allNotNull;
 public class SearchParser {
 
     protected final SearchExpressionPlan plan;
-    protected Deque<SearchLogicalOperation> stack = new ArrayDeque<>();
-    protected SearchLogicalOperation currentLogical = new SearchLogicalOperation();
-    protected SearchLogicalOperation headOperation = currentLogical;
-    protected SearchRelationalOperation currentRelational = new SearchRelationalOperation();
-    protected StringBuilder lastWord = new StringBuilder();
-    protected Mode mode = Mode.FIELD;
-    protected Character quote = null;
+    protected Deque<SearchLogicalOperation> stack;
+    protected Deque<Integer> openingOffsets;
+    protected SearchLogicalOperation currentLogical;
+    protected SearchLogicalOperation headOperation;
+    protected SearchRelationalOperation currentRelational;
+    protected CharSequence input;
+    protected int tokenOffset;
+    protected int tokenEnd;
+    protected boolean tokenQuoted;
+    protected int wordOffset;
+    protected int wordEnd;
+    protected String wordText;
+    protected Mode mode;
+    protected volatile SearchOperation parsedOperation;
+    protected volatile String parsedExpression;
 
     /**
      * Creates a new parser with the given search plan.
@@ -40,6 +56,23 @@ public class SearchParser {
      */
     public SearchParser(SearchExpressionPlan plan) {
         this.plan = plan;
+        reset();
+        this.parsedOperation = headOperation;
+        this.parsedExpression = "";
+    }
+
+    /**
+     * Parses the given expression without keeping any state.
+     * The returned operation is frozen and can therefore be shared between threads.
+     *
+     * @param plan             The search plan
+     * @param searchExpression The search expression
+     * @return The final frozen search operation created from the expression
+     */
+    public static SearchOperation parse(SearchExpressionPlan plan, String searchExpression) {
+        SearchOperation operation = new SearchParser(plan).parse(searchExpression);
+        operation.freeze();
+        return operation;
     }
 
     /**
@@ -49,98 +82,253 @@ public class SearchParser {
      * @return The list of all matching fields
      */
     public List<SearchExpressionField> getMatchingField(SearchDataProvider dataProvider) {
-        return headOperation.getMatchingFields(dataProvider);
+        SearchOperation operation = this.parsedOperation;
+        SearchEvaluationEvent event = new SearchEvaluationEvent();
+        if (!SearchMetrics.isObserved(event)) {
+            return operation.getMatchingFields(dataProvider);
+        }
+
+        event.begin();
+        long start = System.nanoTime();
+        List<SearchExpressionField> matchingFields = new ArrayList<>();
+        boolean matched = operation.match(dataProvider, matchingFields);
+        SearchMetrics.onEvaluation(event, parsedExpression, operation, matched, System.nanoTime() - start);
+        return matchingFields;
     }
 
     /**
      * Indicates if the current expression is matching with the given data from the provider.
+     * The evaluation is reported to {@link SearchMetrics} when observed.
      *
      * @param dataProvider The data provider
      * @return @link Boolean#TRUE} if the data matches the operation, {@link Boolean#FALSE} otherwise
      */
     public boolean match(SearchDataProvider dataProvider) {
-        return this.headOperation.match(dataProvider);
+        SearchOperation operation = this.parsedOperation;
+        SearchEvaluationEvent event = new SearchEvaluationEvent();
+        if (!SearchMetrics.isObserved(event)) {
+            return operation.match(dataProvider);
+        }
+
+        event.begin();
+        long start = System.nanoTime();
+        boolean matched = operation.match(dataProvider);
+        SearchMetrics.onEvaluation(event, parsedExpression, operation, matched, System.nanoTime() - start);
+        return matched;
+    }
+
+    /**
+     * Indicates which data providers of the given list are matching with the current expression.
+     * Large lists are evaluated in parallel in the common pool.
+     *
+     * @param dataProviders The list of data providers
+     * @return The indexes of the data providers matching the expression
+     * @see SearchBatchMatcher
+     */
+    public BitSet matchAll(List<? extends SearchDataProvider> dataProviders) {
+        return batchMatcher().matchAll(dataProviders);
+    }
+
+    /**
+     * Indicates which data providers of the given array are matching with the current expression.
+     * Large arrays are evaluated in parallel in the common pool.
+     *
+     * @param dataProviders The array of data providers
+     * @return The indexes of the data providers matching the expression
+     * @see SearchBatchMatcher
+     */
+    public BitSet matchAll(SearchDataProvider[] dataProviders) {
+        return batchMatcher().matchAll(dataProviders);
+    }
+
+    private SearchBatchMatcher batchMatcher() {
+        return new SearchBatchMatcher(compile(), ForkJoinPool.commonPool(), SearchBatchMatcher.DEFAULT_SEQUENTIAL_THRESHOLD);
+    }
+
+    /**
+     * Compiles the current expression into a predicate that can be evaluated repeatedly.
+     * Each evaluation of the predicate is reported to {@link SearchMetrics} when observed.
+     *
+     * @return The predicate indicating if the data from the provider matches the expression
+     * @see SearchOperation#compile()
+     */
+    public Predicate<SearchDataProvider> compile() {
+        SearchOperation operation = this.parsedOperation;
+        return SearchMetrics.observe(this.parsedExpression, operation, operation.compile());
+    }
+
+    /**
+     * Creates a predicate indicating if values match the current expression.
+     * The predicate does not depend on the parser anymore and can be evaluated by several threads.
+     *
+     * @param adapter The function creating the data provider of a value
+     * @param <T>     The type of the values to match
+     * @return The predicate indicating if a value matches the expression
+     * @see SearchPredicate
+     */
+    public <T> SearchPredicate<T> asPredicate(Function<? super T, ? extends SearchDataProvider> adapter) {
+        return new SearchPredicate<>(compile(), adapter);
     }
 
     /**
      * Parses the given expression.
+     * The state of a previous parsing is discarded, so that the same parser can be used for several expressions.
+     * The operation matched by the parser is replaced only once the parsing is completed,
+     * so that other threads can keep matching the previous expression in the meantime.
+     * The parsing is reported to {@link SearchMetrics}.
+     * The expression is split into tokens by a {@link SearchLexer}, without copying it.
      *
      * @param searchExpression The search expression
      * @return The final search operation created from the expression
+     * @throws SearchParseException If a bracket is not matched or if a value cannot be converted
      */
     public synchronized SearchOperation parse(String searchExpression) {
-        log.info("Parsing expression '{}'", searchExpression);
-        final char[] expression = searchExpression.toCharArray();
+        log.debug("Parsing expression '{}'", searchExpression);
+        SearchParseEvent event = new SearchParseEvent();
+        event.begin();
+        long start = System.nanoTime();
+        reset();
+        input = searchExpression;
+        tokenize(searchExpression);
+        saveFieldValue();
+        if (!openingOffsets.isEmpty()) {
+            throw new SearchParseException("Unmatched opening bracket", openingOffsets.peek());
+        }
+
+        log.debug("Final tree {}", headOperation);
+        SearchMetrics.onParse(event, searchExpression, headOperation, System.nanoTime() - start);
+        parsedExpression = searchExpression;
+        parsedOperation = headOperation;
+        return headOperation;
+    }
 
-        for (char character : expression) {
-            log.trace("Processing character '{}'", character);
-            if (character == '(' && !quoteMode()) {
+    /**
+     * Splits the given expression into tokens and processes each of them.
+     *
+     * @param searchExpression The search expression
+     */
+    protected void tokenize(String searchExpression) {
+        SearchLexer lexer = new SearchLexer(searchExpression);
+        for (SearchLexer.Type type = lexer.next(); type != SearchLexer.Type.END; type = lexer.next()) {
+            processToken(type, lexer.getOffset(), lexer.getEnd(), lexer.isQuoted());
+        }
+    }
+
+    /**
+     * Processes the next token of the expression.
+     *
+     * @param type   The type of the token
+     * @param offset The offset of the token in the expression
+     * @param end    The offset of the end of the token, excluded
+     * @param quoted {@link Boolean#TRUE} if the token is a word containing quotes, {@link Boolean#FALSE} otherwise
+     */
+    protected void processToken(SearchLexer.Type type, int offset, int end, boolean quoted) {
+        if (log.isTraceEnabled()) {
+            log.trace("Processing token {} at column {}", type, offset + 1);
+        }
+        tokenOffset = offset;
+        tokenEnd = end;
+        tokenQuoted = quoted;
+        switch (type) {
+            case OPEN -> {
                 checkOperator();
                 saveRelationalOperation();
                 saveCurrentOperation();
                 clearLastWord();
                 newRelationalOperation();
-            } else if (character == ')' && !quoteMode()) {
+            }
+            case CLOSE -> {
                 saveRelationalOperation();
                 restoreParentOperation();
                 clearLastWord();
                 newRelationalOperation();
-            } else if (character == ':' && !quoteMode()) {
-                saveFieldType();
-            } else if ((character == '"' || character == '\'') && (isEqual(quote, character) || !quoteMode())) {
-                manageQuote(character);
-            } else if (character == ' ' && !quoteMode()) {
+            }
+            case COLON -> saveFieldType();
+            case SPACE -> {
                 checkOperator();
                 saveFieldValue();
                 newRelationalOperation();
                 clearLastWord();
-            } else {
-                lastWord.append(character);
             }
+            case WORD -> saveLastWord();
+            default -> throw new SearchParseException("Unexpected token " + type, offset);
         }
+    }
 
-        saveFieldValue();
-
-        log.debug("Final tree {}", headOperation);
-        return headOperation;
+    protected void reset() {
+        stack = new ArrayDeque<>();
+        openingOffsets = new ArrayDeque<>();
+        currentLogical = new SearchLogicalOperation();
+        headOperation = currentLogical;
+        currentRelational = new SearchRelationalOperation();
+        mode = Mode.FIELD;
+        clearLastWord();
     }
 
     protected SearchDataConverterResult convert(SearchExpressionField field, String value) {
         log.trace("Converting the received value for the field {}", field != null ? field.getName() : "[all]");
-        SearchDataConverter converter = Optional.ofNullable(field)
-                .map(SearchExpressionField::getConverter)
-                .or(() -> Optional.ofNullable(findConverter(field, String.class)))
-                .orElseThrow(() -> new SearchException("Neither a converter for field nor for type of " + field + " was found."));
+        try {
+            SearchDataConverter converter = getConverter(field);
+            return converter.asObject(plan.getOperatorResolver(), field, value);
+        } catch (RuntimeException e) {
+            SearchMetrics.onConverterError(field, value, e);
+            throw e;
+        }
+    }
+
+    protected void saveLastWord() {
+        wordOffset = tokenOffset;
+        wordEnd = tokenEnd;
+        wordText = tokenQuoted ? SearchLexer.getText(input, tokenOffset, tokenEnd, true) : null;
+    }
 
-        return converter.asObject(plan.getOperatorResolver(), field, value);
+    protected String getLastWord() {
+        return wordText != null ? wordText : input.subSequence(wordOffset, wordEnd).toString();
+    }
+
+    protected boolean hasLastWord() {
+        return wordText != null ? !wordText.isEmpty() : wordEnd > wordOffset;
     }
 
     protected void clearLastWord() {
         log.trace("Clear last word");
-        lastWord.setLength(0);
+        wordEnd = wordOffset;
+        wordText = null;
     }
 
     protected void saveFieldValue() {
-        String word = lastWord.toString();
-        if (!word.isEmpty()) {
+        if (hasLastWord()) {
+            String word = getLastWord();
             log.trace("Set value {} for the current relational operation", word);
-            currentRelational.setData(convert(currentRelational.getField(), word));
+            try {
+                currentRelational.setData(convert(currentRelational.getField(), word));
+            } catch (SearchParseException e) {
+                throw e;
+            } catch (SearchException e) {
+                throw new SearchParseException(e.getMessage(), wordOffset, e);
+            }
             currentLogical.addOperation(currentRelational);
         }
         mode = Mode.FIELD;
     }
 
     protected void saveFieldType() {
-        String word = lastWord.toString();
-        log.trace("Save the field {} in the current relational operation", word);
-        SearchExpressionField field = plan.getField(word);
+        SearchExpressionField field = wordText != null
+                ? plan.getField(wordText)
+                : plan.getField(input, wordOffset, wordEnd);
+        if (log.isTraceEnabled()) {
+            log.trace("Save the field {} in the current relational operation", getLastWord());
+        }
         currentRelational.setField(field);
         mode = Mode.VALUE;
         clearLastWord();
     }
 
     protected void checkOperator() {
-        SearchLogicalOperator operator = SearchLogicalOperator.search(lastWord.toString());
+        // A quoted word is always a value, even when its text is an operator
+        SearchLogicalOperator operator = wordText != null
+                ? null
+                : SearchLogicalOperator.search(input, wordOffset, wordEnd);
         if (operator != null) {
             clearLastWord();
             log.trace("Found the operator {}", operator);
@@ -161,7 +349,9 @@ public class SearchParser {
 
         if (operator.hasHigherPriority(currentLogical.getOperator())) {
             log.trace("Balance the operation tree because of a higher priority operator (operator {} > current {})", operator, currentLogical.getOperator());
-            newOperation.addOperation(popLastSearchOperation());
+            if (!currentLogical.getOperations().isEmpty()) {
+                newOperation.addOperation(popLastSearchOperation());
+            }
             currentLogical.addOperation(newOperation);
             headOperation = currentLogical;
             currentLogical = newOperation;
@@ -180,19 +370,13 @@ public class SearchParser {
         return lastOperation;
     }
 
-    protected void manageQuote(char character) {
-        if (quote == null) {
-            log.trace("Activating quote mode for character {}", character);
-            quote = character;
-        } else {
-            log.trace("Disabling quote mode for character {}", character);
-            quote = null;
-        }
-    }
-
     protected void restoreParentOperation() {
         log.trace("Following a closing bracket restore the parent operation");
+        if (stack.isEmpty()) {
+            throw new SearchParseException("Unmatched closing bracket", tokenOffset);
+        }
         SearchLogicalOperation parentOperation = stack.pop();
+        openingOffsets.pop();
         parentOperation.addOperation(currentLogical);
         currentLogical = parentOperation;
     }
@@ -200,11 +384,12 @@ public class SearchParser {
     protected void saveCurrentOperation() {
         log.trace("Following an opening bracket save the current operation");
         stack.push(currentLogical);
+        openingOffsets.push(tokenOffset);
         currentLogical = new SearchLogicalOperation();
     }
 
     protected void saveRelationalOperation() {
-        if (!lastWord.toString().isEmpty()) {
+        if (hasLastWord()) {
             log.trace("Save the current relational operation inside the current logical operation");
             saveFieldValue();
             newRelationalOperation();
@@ -217,14 +402,6 @@ public class SearchParser {
         currentRelational = new SearchRelationalOperation();
     }
 
-    protected boolean quoteMode() {
-        return quote != null;
-    }
-
-    protected boolean isEqual(Character quote, Character character) {
-        return allNotNull(quote, character) && quote.equals(character);
-    }
-
     enum Mode {
         FIELD,
         VALUE
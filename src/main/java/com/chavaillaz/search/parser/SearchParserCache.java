@@ -0,0 +1,193 @@
+package com.chavaillaz.search.parser;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.chavaillaz.search.operation.SearchOperation;
+
+/**
+ * Bounded cache of parsed search expressions, safe for concurrent use.
+ * <p>
+ * Expressions are cached by their text and the identity of their plan, and the returned operations are frozen.
+ * When the cache grows beyond its maximum size, the least recently used entries are evicted
+ * until only nine tenths of the maximum size remain, so that the eviction cost is shared by many insertions.
+ * </p>
+ */
+public class SearchParserCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final int maximumSize;
+    private final Map<Key, Entry> entries;
+    private final ReentrantLock evictionLock;
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder evictionCount;
+
+    /**
+     * Creates a new cache with the default maximum size.
+     */
+    public SearchParserCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new cache with the given maximum size.
+     *
+     * @param maximumSize The maximum number of expressions to keep
+     */
+    public SearchParserCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new ConcurrentHashMap<>();
+        this.evictionLock = new ReentrantLock();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+    }
+
+    /**
+     * Gets the parsed operation of the given expression, parsing it only if not already in the cache.
+     * Note that the plan must not be modified after its first use with the cache.
+     *
+     * @param plan             The search plan
+     * @param searchExpression The search expression
+     * @return The frozen search operation created from the expression
+     * @see SearchParser#parse(SearchExpressionPlan, String)
+     */
+    public SearchOperation parse(SearchExpressionPlan plan, String searchExpression) {
+        Key key = new Key(plan, searchExpression);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hitCount.increment();
+            entry.lastAccess = System.nanoTime();
+            return entry.operation;
+        }
+
+        missCount.increment();
+        SearchOperation operation = SearchParser.parse(plan, searchExpression);
+        Entry existing = entries.putIfAbsent(key, new Entry(operation));
+        if (existing != null) {
+            return existing.operation;
+        }
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+        return operation;
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            // Another thread is already evicting entries
+            return;
+        }
+        try {
+            int excess = entries.size() - (maximumSize - maximumSize / 10);
+            if (excess > 0) {
+                // Snapshot the access times as they can change while sorting
+                entries.entrySet().stream()
+                        .map(entry -> new Access(entry.getKey(), entry.getValue().lastAccess))
+                        .sorted(Comparator.comparingLong(Access::time))
+                        .limit(excess)
+                        .map(Access::key)
+                        .forEach(key -> {
+                            if (entries.remove(key) != null) {
+                                evictionCount.increment();
+                            }
+                        });
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all the expressions from the cache.
+     * The statistics are not reset.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of expressions currently in the cache.
+     *
+     * @return The number of cached expressions
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the maximum number of expressions kept in the cache.
+     *
+     * @return The maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the number of expressions found in the cache.
+     *
+     * @return The number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of expressions that had to be parsed.
+     *
+     * @return The number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the number of expressions removed from the cache because of its maximum size.
+     *
+     * @return The number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    private record Key(SearchExpressionPlan plan, String expression) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key
+                    && plan == key.plan
+                    && expression.equals(key.expression);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(plan) + expression.hashCode();
+        }
+
+    }
+
+    private record Access(Key key, long time) {
+    }
+
+    private static class Entry {
+
+        private final SearchOperation operation;
+        private volatile long lastAccess;
+
+        private Entry(SearchOperation operation) {
+            this.operation = operation;
+            this.lastAccess = System.nanoTime();
+        }
+
+    }
+
+}
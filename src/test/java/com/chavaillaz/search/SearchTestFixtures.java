@@ -0,0 +1,84 @@
+package com.chavaillaz.search;
+
+import com.chavaillaz.search.operation.SearchLogicalOperation;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.operation.SearchRelationalOperation;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.operator.SearchRelationalOperatorResolver;
+import com.chavaillaz.search.parser.SearchExpressionField;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Fixtures shared by the tests: fields, plans and descriptions of operation trees.
+ */
+@UtilityClass
+public class SearchTestFixtures {
+
+    /**
+     * Creates a case-insensitive field without default operator.
+     *
+     * @param name The name of the field
+     * @param type The type of the field
+     * @return The field
+     */
+    public static SearchExpressionField field(String name, Class<?> type) {
+        return field(name, type, null, false);
+    }
+
+    /**
+     * Creates a field.
+     *
+     * @param name          The name of the field
+     * @param type          The type of the field
+     * @param operator      The default operator of the field, {@code null} to let the resolver choose it
+     * @param caseSensitive {@link Boolean#TRUE} if the field is case-sensitive, {@link Boolean#FALSE} otherwise
+     * @return The field
+     */
+    public static SearchExpressionField field(String name, Class<?> type, SearchRelationalOperator operator, boolean caseSensitive) {
+        SearchExpressionField field = new SearchExpressionField();
+        field.setName(name);
+        field.setType(type);
+        field.setDefaultOperator(operator);
+        field.setCaseSensitive(caseSensitive);
+        return field;
+    }
+
+    /**
+     * Creates a frozen plan with the given fields and the default operator resolver.
+     *
+     * @param fields The fields of the plan
+     * @return The plan
+     */
+    public static SearchExpressionPlan plan(SearchExpressionField... fields) {
+        SearchExpressionPlan plan = new SearchExpressionPlan(new SearchRelationalOperatorResolver());
+        for (SearchExpressionField field : fields) {
+            plan.addField(field);
+        }
+        return plan.freeze();
+    }
+
+    /**
+     * Describes the structure of an operation tree, without relying on the {@link Object#toString()} of the operations.
+     * Logical operations are described between brackets and relational operations as {@code field OPERATOR value},
+     * with {@code *} for all the fields.
+     *
+     * @param operation The root of the operation tree
+     * @return The description of the tree
+     */
+    public static String describe(SearchOperation operation) {
+        if (operation instanceof SearchLogicalOperation logicalOperation) {
+            StringBuilder description = new StringBuilder("(");
+            for (SearchOperation child : logicalOperation.getOperations()) {
+                description.append(description.length() > 1 ? " " + logicalOperation.getOperator() + " " : "").append(describe(child));
+            }
+            return description.append(')').toString();
+        } else if (operation instanceof SearchRelationalOperation relationalOperation) {
+            return (relationalOperation.isInverse() ? "!" : "")
+                    + (relationalOperation.getField() != null ? relationalOperation.getField().getName() : "*")
+                    + " " + relationalOperation.getOperator() + " " + relationalOperation.getValue();
+        }
+        return String.valueOf(operation);
+    }
+
+}
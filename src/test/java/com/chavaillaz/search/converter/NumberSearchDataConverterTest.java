@@ -0,0 +1,99 @@
+package com.chavaillaz.search.converter;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.data.SearchMapDataProvider;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+import com.chavaillaz.search.parser.SearchParser;
+
+import static com.chavaillaz.search.SearchTestFixtures.field;
+import static com.chavaillaz.search.SearchTestFixtures.plan;
+import static com.chavaillaz.search.operator.SearchRelationalOperator.EQUALS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class NumberSearchDataConverterTest {
+
+    private static SearchExpressionPlan plan;
+
+    @BeforeAll
+    static void setUp() {
+        plan = plan(
+                field("price", Long.class, EQUALS, false),
+                field("weight", Double.class, EQUALS, false),
+                field("amount", BigDecimal.class, EQUALS, false));
+    }
+
+    static Stream<Arguments> intervals() {
+        return Stream.of(
+                arguments("price:5-5", 5L, true),
+                arguments("price:5-5", 5, true),
+                arguments("price:1-10", (short) 7, true),
+                arguments("price:10-1", (byte) 7, true),
+                arguments("price:5-5", 5.0, false),
+                arguments("price:1-10", "5", false),
+                arguments("weight:1-10", 2.5, true),
+                arguments("weight:1-10", 2.5f, true),
+                arguments("weight:1-10", 5, false),
+                arguments("weight:1-10", new BigDecimal("5"), false),
+                arguments("amount:15-16", new BigDecimal("16.0"), true),
+                arguments("amount:15-16", new BigDecimal("16.01"), false),
+                arguments("amount:15-16", 15.5, false),
+                arguments("amount:15-16", 15L, false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("intervals")
+    void testMatchInterval(String expression, Object value, boolean expected) {
+        assertMatch(expression, value, expected);
+    }
+
+    static Stream<Arguments> lists() {
+        return Stream.of(
+                arguments("price:5,6", 5L, true),
+                arguments("price:5,6", 5, true),
+                arguments("price:5,6", (short) 6, true),
+                arguments("price:5,6", 7, false),
+                arguments("price:5,6", 5.0, false),
+                arguments("price:5,6", "5", false),
+                arguments("weight:12,13", 12.0, true),
+                arguments("weight:12,13", 12.0f, true),
+                arguments("weight:12,13", 12.5f, false),
+                arguments("weight:12,13", 12, false),
+                arguments("amount:16,17", new BigDecimal("16"), true),
+                arguments("amount:16,17", new BigDecimal("16.0"), true),
+                arguments("amount:16.00,17", new BigDecimal("16"), true),
+                arguments("amount:16,17", new BigDecimal("16.5"), false),
+                arguments("amount:16,17", 16.0, false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("lists")
+    void testMatchList(String expression, Object value, boolean expected) {
+        assertMatch(expression, value, expected);
+    }
+
+    static void assertMatch(String expression, Object value, boolean expected) {
+        SearchOperation operation = SearchParser.parse(plan, expression);
+        Map<String, Object> record = new HashMap<>();
+        record.put(expression.substring(0, expression.indexOf(':')), value);
+        SearchDataProvider dataProvider = new SearchMapDataProvider<>(record);
+
+        String description = expression + " with " + value + " (" + value.getClass().getSimpleName() + ")";
+        assertThat(operation.match(dataProvider)).as(description).isEqualTo(expected);
+        assertThat(operation.compile().test(dataProvider)).as(description + " compiled").isEqualTo(expected);
+    }
+
+}
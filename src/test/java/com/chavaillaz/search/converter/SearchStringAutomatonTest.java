@@ -0,0 +1,83 @@
+package com.chavaillaz.search.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class SearchStringAutomatonTest {
+
+    private static final String ALPHABET = "aAbBsS\u017FKk\u212A\u00DF";
+
+    static Stream<Arguments> values() {
+        List<String> overlapping = List.of("he", "she", "hers", "his");
+        return Stream.of(
+                // Overlapping needles, found through the failure links
+                arguments(overlapping, true, "ushers", true),
+                arguments(overlapping, true, "ahishe", true),
+                arguments(overlapping, true, "hxsxhx", false),
+                arguments(List.of("abcd", "bc"), true, "abce", true),
+                arguments(List.of("abcd", "cde"), true, "abcde", true),
+                arguments(List.of("aab", "ab"), true, "aaab", true),
+                arguments(List.of("aab", "abc"), true, "aaxbc", false),
+                // Case folding
+                arguments(overlapping, true, "USHERS", false),
+                arguments(overlapping, false, "USHERS", true),
+                arguments(List.of("\u212A"), false, "\u212A", true),
+                arguments(List.of("s"), false, "\u017F", true),
+                arguments(List.of("\uD801\uDC00"), false, "x\uD801\uDC28", true),
+                arguments(List.of("\uD801\uDC00"), true, "x\uD801\uDC28", false),
+                // Empty needles and values
+                arguments(List.of(), false, "abc", false),
+                arguments(List.of("x", ""), false, "abc", true),
+                arguments(List.of("a"), false, "", false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void testIsAnyContainedIn(List<String> needles, boolean caseSensitive, String value, boolean expected) {
+        assertThat(new SearchStringAutomaton(needles, caseSensitive).isAnyContainedIn(value)).isEqualTo(expected);
+        assertThat(containsAny(needles, caseSensitive, value)).isEqualTo(expected);
+    }
+
+    @Test
+    void testRandomNeedlesLikeSimpleSearch() {
+        Random random = new Random(11);
+        for (int step = 0; step < 3000; step++) {
+            List<String> needles = new ArrayList<>();
+            for (int count = random.nextInt(20); count > 0; count--) {
+                needles.add(createText(random, 1 + random.nextInt(4)));
+            }
+            boolean caseSensitive = random.nextBoolean();
+            SearchStringAutomaton automaton = new SearchStringAutomaton(needles, caseSensitive);
+            for (int value = 0; value < 10; value++) {
+                String text = createText(random, random.nextInt(12));
+                assertThat(automaton.isAnyContainedIn(text))
+                        .as("%s in %s", needles, text)
+                        .isEqualTo(containsAny(needles, caseSensitive, text));
+            }
+        }
+    }
+
+    static String createText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int index = 0; index < length; index++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+
+    static boolean containsAny(List<String> needles, boolean caseSensitive, String value) {
+        return needles.stream().anyMatch(needle -> SearchStringMatcher.contains(value, needle, caseSensitive));
+    }
+
+}
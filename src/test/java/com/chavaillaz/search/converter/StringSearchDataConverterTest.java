@@ -0,0 +1,87 @@
+package com.chavaillaz.search.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.chavaillaz.search.parser.SearchExpressionField;
+
+import static com.chavaillaz.search.SearchTestFixtures.field;
+import static com.chavaillaz.search.converter.SearchStringAutomatonTest.containsAny;
+import static com.chavaillaz.search.converter.SearchStringAutomatonTest.createText;
+import static com.chavaillaz.search.converter.StringSearchDataConverter.AUTOMATON_THRESHOLD;
+import static com.chavaillaz.search.operator.SearchRelationalOperator.EQUALS;
+import static com.chavaillaz.search.operator.SearchRelationalOperator.LIKE;
+import static com.chavaillaz.search.operator.SearchRelationalOperator.LIST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class StringSearchDataConverterTest {
+
+    private final StringSearchDataConverter converter = new StringSearchDataConverter();
+
+    static Stream<Arguments> lists() {
+        List<String> overlapping = new ArrayList<>(List.of("he", "she", "hers", "his"));
+        List<String> padded = new ArrayList<>(overlapping);
+        while (padded.size() < AUTOMATON_THRESHOLD) {
+            padded.add("x" + padded.size());
+        }
+        return Stream.of(
+                // Below the threshold, each value is searched after the other
+                arguments(overlapping.subList(0, 1), false, "USHERS", true),
+                arguments(overlapping, true, "USHERS", false),
+                arguments(overlapping, false, "USHERS", true),
+                arguments(padded.subList(0, AUTOMATON_THRESHOLD - 1), false, "a HIS b", true),
+                arguments(padded.subList(0, AUTOMATON_THRESHOLD - 1), false, "hxsxhx", false),
+                // From the threshold, the values are searched with the automaton
+                arguments(padded, false, "a HIS b", true),
+                arguments(padded, true, "a HIS b", false),
+                arguments(padded, false, "ushers", true),
+                arguments(padded, false, "hxsxhx", false),
+                arguments(padded, false, "X7", true),
+                arguments(padded, true, "X7", false)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("lists")
+    void testMatchList(List<String> values, boolean caseSensitive, String current, boolean expected) {
+        SearchExpressionField field = field("name", String.class, LIKE, caseSensitive);
+        assertThat(converter.compile(field, LIST, values).test(current)).isEqualTo(expected);
+        assertThat(converter.match(field, LIST, values, current)).isEqualTo(expected);
+        assertThat(containsAny(values, caseSensitive, current)).isEqualTo(expected);
+    }
+
+    @Test
+    void testRandomListsAroundThreshold() {
+        Random random = new Random(13);
+        for (int step = 0; step < 2000; step++) {
+            boolean caseSensitive = random.nextBoolean();
+            SearchExpressionField likeField = field("name", String.class, LIKE, caseSensitive);
+            SearchExpressionField exactField = field("code", String.class, EQUALS, caseSensitive);
+            List<String> values = new ArrayList<>();
+            for (int count = AUTOMATON_THRESHOLD - 2 + random.nextInt(4); count > 0; count--) {
+                values.add(createText(random, 1 + random.nextInt(3)));
+            }
+
+            for (int value = 0; value < 10; value++) {
+                String current = createText(random, random.nextInt(8));
+                assertThat(converter.compile(likeField, LIST, values).test(current))
+                        .as("%s in %s", values, current)
+                        .isEqualTo(converter.match(likeField, LIST, values, current))
+                        .isEqualTo(containsAny(values, caseSensitive, current));
+                assertThat(converter.compile(exactField, LIST, values).test(current))
+                        .as("%s equals %s", values, current)
+                        .isEqualTo(converter.match(exactField, LIST, values, current))
+                        .isEqualTo(values.stream().anyMatch(other -> SearchStringMatcher.equals(current, other, caseSensitive)));
+            }
+        }
+    }
+
+}
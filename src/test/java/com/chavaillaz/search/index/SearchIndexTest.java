@@ -0,0 +1,208 @@
+package com.chavaillaz.search.index;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.data.SearchMapDataProvider;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+import com.chavaillaz.search.parser.SearchParser;
+
+import static com.chavaillaz.search.SearchTestFixtures.field;
+import static com.chavaillaz.search.SearchTestFixtures.plan;
+import static com.chavaillaz.search.operator.SearchRelationalOperator.EQUALS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+    static final String[] LEAVES = {
+            "name:ali", "name:!bob", "name:ar", "name:ali,bob",
+            "city:paris", "city:PARIS", "city:paris,lyon", "city:!lyon",
+            "code:AB1", "code:ab1", "code:AB1,CD2",
+            "price:5", "price:5,6", "price:3-8", "price:!5-6",
+            "weight:12", "weight:12,13", "weight:1-12.5",
+            "amount:16", "amount:16,17", "amount:15-16",
+            "paris", "ali", "!12"
+    };
+
+    private static final String[] NAMES = {"Alice", "bob", "Charlie", "MARIA", "alicia", "Bart"};
+    private static final String[] CITIES = {"Paris", "paris", "Lyon", "Bern", "Parma"};
+    private static final String[] CODES = {"AB1", "ab1", "CD2", "X"};
+
+    private static SearchExpressionPlan plan;
+
+    @BeforeAll
+    static void setUp() {
+        plan = createPlan();
+    }
+
+    static SearchExpressionPlan createPlan() {
+        return plan(
+                field("name", String.class),
+                field("city", String.class, EQUALS, false),
+                field("code", String.class, EQUALS, true),
+                field("price", Long.class, EQUALS, false),
+                field("weight", Double.class, EQUALS, false),
+                field("amount", BigDecimal.class, EQUALS, false));
+    }
+
+    static SearchDataProvider createRecord(Random random) {
+        Map<String, Object> record = new HashMap<>();
+        record.put("name", pick(random, NAMES));
+        record.put("city", pick(random, CITIES));
+        record.put("code", pick(random, CODES));
+        int price = random.nextInt(12);
+        record.put("price", random.nextBoolean() ? Long.valueOf(price) : Integer.valueOf(price));
+        double weight = random.nextInt(60) / 4.0;
+        record.put("weight", random.nextBoolean() ? Double.valueOf(weight) : Float.valueOf((float) weight));
+        record.put("amount", random.nextInt(5) == 0 ? null : BigDecimal.valueOf(1400 + random.nextInt(400), random.nextInt(3)));
+        return new SearchMapDataProvider<>(record);
+    }
+
+    private static Object pick(Random random, Object[] values) {
+        // Some values are missing
+        return random.nextInt(8) == 0 ? null : values[random.nextInt(values.length)];
+    }
+
+    static String createExpression(Random random, int depth) {
+        int count = 1 + random.nextInt(3);
+        StringBuilder expression = new StringBuilder();
+        for (int index = 0; index < count; index++) {
+            if (index > 0) {
+                expression.append(random.nextBoolean() ? " AND " : " OR ");
+            }
+            if (depth > 0 && random.nextInt(3) == 0) {
+                expression.append('(').append(createExpression(random, depth - 1)).append(')');
+            } else {
+                expression.append(LEAVES[random.nextInt(LEAVES.length)]);
+            }
+        }
+        return expression.toString();
+    }
+
+    private static BitSet scan(SearchIndex index, int count, SearchOperation operation) {
+        BitSet identifiers = new BitSet();
+        for (int id = 0; id < count; id++) {
+            SearchDataProvider record = index.getRecord(id);
+            if (record != null && operation.match(record)) {
+                identifiers.set(id);
+            }
+        }
+        return identifiers;
+    }
+
+    private static void assertSearchLikeScan(SearchIndex index, int count, String expression) {
+        SearchOperation operation = SearchParser.parse(plan, expression);
+        assertThat(index.search(operation)).as(expression).isEqualTo(scan(index, count, operation));
+    }
+
+    private static SearchIndex createIndex(Random random, int count) {
+        SearchIndex index = new SearchIndex(plan);
+        for (int id = 0; id < count; id++) {
+            assertThat(index.add(createRecord(random))).isEqualTo(id);
+        }
+        return index;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "name:ali", "name:!bob", "name:ar", "name:ali,bob",
+            "city:paris", "city:PARIS", "city:paris,lyon", "city:!lyon",
+            "code:AB1", "code:ab1", "code:AB1,CD2",
+            "price:5", "price:5,6", "price:3-8", "price:8-3", "price:!5-6",
+            "weight:12", "weight:12,13", "weight:1-12.5",
+            "amount:16", "amount:16,17", "amount:15-16",
+            "paris", "ali", "!12", "unknown:x",
+            "city:paris AND price:3-8", "(name:ali OR code:X) AND !weight:12"
+    })
+    void testSearchAfterAdd(String expression) {
+        SearchIndex index = createIndex(new Random(5), 400);
+        assertThat(index.size()).isEqualTo(400);
+        assertSearchLikeScan(index, 400, expression);
+    }
+
+    @Test
+    void testSearchRandomExpressions() {
+        Random random = new Random(11);
+        SearchIndex index = createIndex(random, 300);
+        for (int step = 0; step < 500; step++) {
+            assertSearchLikeScan(index, 300, createExpression(random, 2));
+        }
+    }
+
+    @Test
+    void testSearchAfterUpdatesAndRemovals() {
+        Random random = new Random(17);
+        SearchIndex index = createIndex(random, 200);
+        int count = 200;
+        for (int step = 0; step < 3000; step++) {
+            int action = random.nextInt(4);
+            if (action == 0) {
+                index.remove(random.nextInt(count));
+            } else if (action == 1) {
+                count = index.add(createRecord(random)) + 1;
+            } else {
+                // Also revives the removed records
+                index.update(random.nextInt(count), createRecord(random));
+            }
+            if (step % 50 == 0) {
+                assertSearchLikeScan(index, count, createExpression(random, 2));
+            }
+        }
+        for (String leaf : LEAVES) {
+            assertSearchLikeScan(index, count, leaf);
+        }
+    }
+
+    @Test
+    void testSearchAfterOrdinalReuse() {
+        SearchIndex index = new SearchIndex(plan);
+        int first = index.add(new SearchMapDataProvider<>(Map.of("name", "Paris", "city", "paris", "price", 5L)));
+        int second = index.add(new SearchMapDataProvider<>(Map.of("name", "Lyon", "city", "lyon", "price", 6L)));
+
+        // The values of the first record disappear and their ordinals are given to the new values
+        index.update(first, new SearchMapDataProvider<>(Map.of("name", "Parma", "city", "bern", "price", 7L)));
+        index.update(second, new SearchMapDataProvider<>(Map.of("name", "Bern", "city", "bern", "price", 7L)));
+        for (String expression : new String[]{"name:par", "name:paris", "name:parma", "name:ern", "city:paris", "city:bern",
+                "city:paris,lyon", "price:5", "price:5-6", "price:7", "paris", "par", "ern"}) {
+            assertSearchLikeScan(index, 2, expression);
+        }
+        assertThat(index.search(SearchParser.parse(plan, "name:par")).stream().toArray()).containsExactly(first);
+        assertThat(index.search(SearchParser.parse(plan, "paris")).isEmpty()).isTrue();
+
+        // The value comes back with a new ordinal
+        index.update(second, new SearchMapDataProvider<>(Map.of("name", "Paris", "city", "paris", "price", 5L)));
+        assertThat(index.search(SearchParser.parse(plan, "city:paris")).stream().toArray()).containsExactly(second);
+        assertThat(index.search(SearchParser.parse(plan, "name:par")).stream().toArray()).containsExactly(first, second);
+    }
+
+    @Test
+    void testRemovedRecordRevivedByUpdate() {
+        SearchIndex index = new SearchIndex(plan);
+        int first = index.add(new SearchMapDataProvider<>(Map.of("city", "paris")));
+        int second = index.add(new SearchMapDataProvider<>(Map.of("city", "paris")));
+        SearchOperation operation = SearchParser.parse(plan, "city:paris");
+
+        index.remove(first);
+        index.remove(first);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.getRecord(first)).isNull();
+        assertThat(index.search(operation).stream().toArray()).containsExactly(second);
+        assertThat(index.search(SearchParser.parse(plan, "city:!paris")).isEmpty()).isTrue();
+        assertThat(index.add(new SearchMapDataProvider<>(Map.of("city", "lyon")))).isEqualTo(2);
+
+        index.update(first, new SearchMapDataProvider<>(Map.of("city", "PARIS")));
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search(operation).stream().toArray()).containsExactly(first, second);
+    }
+
+}
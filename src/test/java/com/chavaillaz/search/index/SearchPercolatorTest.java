@@ -0,0 +1,96 @@
+package com.chavaillaz.search.index;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.data.SearchMapDataProvider;
+import com.chavaillaz.search.operation.SearchConstantOperation;
+import com.chavaillaz.search.operation.SearchOperation;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+import com.chavaillaz.search.parser.SearchParser;
+
+import static com.chavaillaz.search.index.SearchIndexTest.createExpression;
+import static com.chavaillaz.search.index.SearchIndexTest.createPlan;
+import static com.chavaillaz.search.index.SearchIndexTest.createRecord;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchPercolatorTest {
+
+    private static SearchExpressionPlan plan;
+
+    @BeforeAll
+    static void setUp() {
+        plan = createPlan();
+    }
+
+    private static BitSet scan(SearchPercolator percolator, int count, SearchDataProvider dataProvider) {
+        BitSet identifiers = new BitSet();
+        for (int id = 0; id < count; id++) {
+            SearchOperation operation = percolator.getOperation(id);
+            if (operation != null && operation.compile().test(dataProvider)) {
+                identifiers.set(id);
+            }
+        }
+        return identifiers;
+    }
+
+    private static void assertPercolateLikeScan(SearchPercolator percolator, int count, Random random) {
+        for (int record = 0; record < 200; record++) {
+            SearchDataProvider dataProvider = createRecord(random);
+            assertThat(percolator.percolate(dataProvider)).isEqualTo(scan(percolator, count, dataProvider));
+        }
+    }
+
+    @Test
+    void testPercolateRandomOperations() {
+        Random random = new Random(19);
+        SearchPercolator percolator = new SearchPercolator();
+        for (int id = 0; id < 500; id++) {
+            // Each leaf is used by many operations, so that the compiled leaves are shared
+            assertThat(percolator.register(SearchParser.parse(plan, createExpression(random, 2)))).isEqualTo(id);
+        }
+        assertPercolateLikeScan(percolator, 500, random);
+
+        for (int step = 0; step < 300; step++) {
+            percolator.unregister(random.nextInt(500));
+        }
+        assertThat(percolator.size()).isLessThan(500);
+        assertPercolateLikeScan(percolator, 500, random);
+
+        // New operations may reuse the slots of the released leaves
+        for (int id = 500; id < 700; id++) {
+            assertThat(percolator.register(SearchParser.parse(plan, createExpression(random, 2)))).isEqualTo(id);
+        }
+        assertPercolateLikeScan(percolator, 700, random);
+    }
+
+    @Test
+    void testPercolateAnchoredOperations() {
+        SearchPercolator percolator = new SearchPercolator();
+        int city = percolator.register(SearchParser.parse(plan, "city:PARIS"));
+        int price = percolator.register(SearchParser.parse(plan, "price:5,6 AND name:ali"));
+        int amount = percolator.register(SearchParser.parse(plan, "amount:16,17 OR weight:12"));
+        percolator.register(SearchConstantOperation.FALSE);
+        int inverse = percolator.register(SearchParser.parse(plan, "city:!lyon"));
+
+        SearchDataProvider first = new SearchMapDataProvider<>(Map.of("city", "paris", "price", 5, "name", "Alice"));
+        SearchDataProvider second = new SearchMapDataProvider<>(Map.of("amount", new BigDecimal("16.00"), "city", "lyon"));
+        assertThat(percolator.percolate(first).stream().toArray()).containsExactly(city, price, inverse);
+        assertThat(percolator.percolate(second).stream().toArray()).containsExactly(amount);
+        assertThat(percolator.percolate(first)).isEqualTo(scan(percolator, 5, first));
+        assertThat(percolator.percolate(second)).isEqualTo(scan(percolator, 5, second));
+
+        percolator.unregister(city);
+        percolator.unregister(city);
+        assertThat(percolator.getOperation(city)).isNull();
+        assertThat(percolator.size()).isEqualTo(4);
+        assertThat(percolator.percolate(first).stream().toArray()).containsExactly(price, inverse);
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.chavaillaz.search.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchRangeIndexTest {
+
+    private static BitSet scan(Map<Integer, Long> entries, long minimum, long maximum) {
+        BitSet identifiers = new BitSet();
+        entries.forEach((id, key) -> {
+            if (key >= minimum && key <= maximum) {
+                identifiers.set(id);
+            }
+        });
+        return identifiers;
+    }
+
+    @Test
+    void testSearchAfterAddAndRemove() {
+        Random random = new Random(3);
+        SearchRangeIndex index = new SearchRangeIndex();
+        Map<Integer, Long> entries = new HashMap<>();
+        for (int step = 0; step < 20000; step++) {
+            int id = random.nextInt(3000);
+            Long previous = entries.remove(id);
+            if (previous != null) {
+                index.remove(previous, id);
+            }
+            if (random.nextInt(3) > 0) {
+                // Few distinct keys, so that the entries of a key are spread over several blocks
+                long key = random.nextInt(50) - 25L;
+                index.add(key, id);
+                entries.put(id, key);
+            }
+            if (step % 100 == 0) {
+                long minimum = random.nextInt(60) - 30L;
+                long maximum = minimum + random.nextInt(20);
+                assertThat(index.search(minimum, maximum)).as("[%d, %d]", minimum, maximum)
+                        .isEqualTo(scan(entries, minimum, maximum));
+            }
+        }
+        assertThat(index.search(Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(scan(entries, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void testSearchEdgeCases() {
+        SearchRangeIndex index = new SearchRangeIndex();
+        assertThat(index.search(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty()).isTrue();
+
+        index.add(Long.MIN_VALUE, 1);
+        index.add(Long.MAX_VALUE, 2);
+        index.add(0, 3);
+        index.add(0, 3);
+        assertThat(index.search(Long.MIN_VALUE, Long.MIN_VALUE).stream().toArray()).containsExactly(1);
+        assertThat(index.search(Long.MAX_VALUE, Long.MAX_VALUE).stream().toArray()).containsExactly(2);
+        assertThat(index.search(1, -1).isEmpty()).isTrue();
+
+        index.remove(0, 3);
+        index.remove(0, 3);
+        index.remove(5, 1);
+        assertThat(index.search(Long.MIN_VALUE, Long.MAX_VALUE).stream().toArray()).containsExactly(1, 2);
+    }
+
+}
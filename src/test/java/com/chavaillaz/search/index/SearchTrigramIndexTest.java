@@ -0,0 +1,66 @@
+package com.chavaillaz.search.index;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTrigramIndexTest {
+
+    private static String createText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int index = 0; index < length; index++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+
+    @Test
+    void testCandidatesContainTheMatchingTexts() {
+        Random random = new Random(7);
+        SearchTrigramIndex index = new SearchTrigramIndex();
+        Map<Integer, String> texts = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(200);
+            String previous = texts.remove(id);
+            if (previous != null) {
+                index.remove(id, previous);
+            }
+            if (random.nextBoolean()) {
+                String text = createText(random, random.nextInt(8));
+                index.add(id, text);
+                texts.put(id, text);
+            }
+
+            String needle = createText(random, 3 + random.nextInt(3));
+            BitSet candidates = index.candidates(needle);
+            BitSet matches = new BitSet();
+            texts.forEach((key, text) -> matches.set(key, text.contains(needle)));
+            BitSet missing = (BitSet) matches.clone();
+            missing.andNot(candidates);
+            assertThat(missing.isEmpty()).as(needle).isTrue();
+            // Candidates of removed texts must be dropped
+            candidates.stream().forEach(candidate -> assertThat(texts).containsKey(candidate));
+        }
+    }
+
+    @Test
+    void testCandidatesOfShortNeedles() {
+        SearchTrigramIndex index = new SearchTrigramIndex();
+        index.add(1, "paris");
+        index.add(2, "parma");
+        assertThat(index.candidates("pa")).isNull();
+        assertThat(index.candidates("par").stream().toArray()).containsExactly(1, 2);
+        assertThat(index.candidates("aris").stream().toArray()).containsExactly(1);
+        assertThat(index.candidates("lyon").isEmpty()).isTrue();
+
+        index.remove(1, "paris");
+        assertThat(index.candidates("par").stream().toArray()).containsExactly(2);
+        assertThat(index.candidates("ris").isEmpty()).isTrue();
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.chavaillaz.search.operation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.chavaillaz.search.data.SearchDataProvider;
+import com.chavaillaz.search.data.SearchMapDataProvider;
+import com.chavaillaz.search.operator.SearchRelationalOperator;
+import com.chavaillaz.search.parser.SearchExpressionPlan;
+import com.chavaillaz.search.parser.SearchParser;
+
+import static com.chavaillaz.search.SearchTestFixtures.describe;
+import static com.chavaillaz.search.SearchTestFixtures.field;
+import static com.chavaillaz.search.SearchTestFixtures.plan;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchOperationOptimizerTest {
+
+    private static final String[] LEAVES = {
+            "name:ali", "name:!bob", "name:\"ali\"", "name:e", "name:ali,bob",
+            "city:paris", "city:!paris", "city:lyon", "city:paris,bern", "city:!lyon,bern",
+            "code:AB1", "code:ab1", "code:CD2", "code:!X", "code:AB1,CD2",
+            "price:10", "price:11", "price:3,4,10", "price:10-20", "price:15-30", "price:!5-15", "price:30-35", "price:20-10",
+            "weight:2.5", "weight:1-10", "weight:3-9", "weight:!1-2",
+            "qty:7", "qty:!7", "qty:3,10,1", "qty:5-25", "qty:!3,4",
+            "alice", "!bob", "paris,lyon"
+    };
+
+    private static SearchExpressionPlan plan;
+    private static List<SearchDataProvider> records;
+
+    @BeforeAll
+    static void setUp() {
+        plan = plan(
+                field("name", String.class),
+                field("city", String.class, SearchRelationalOperator.EQUALS, false),
+                field("code", String.class, SearchRelationalOperator.EQUALS, true),
+                field("price", Integer.class, SearchRelationalOperator.EQUALS, false),
+                field("weight", Double.class, SearchRelationalOperator.EQUALS, false),
+                field("qty", long.class, SearchRelationalOperator.EQUALS, false));
+
+        String[] names = {"Alice", "bob", "Charlie", "EVE", "alicia", null};
+        String[] cities = {"Paris", "paris", "Lyon", "Bern", null};
+        String[] codes = {"AB1", "ab1", "CD2", "X"};
+        Random random = new Random(42);
+        records = new ArrayList<>();
+        for (int index = 0; index < 300; index++) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("name", names[random.nextInt(names.length)]);
+            record.put("city", cities[random.nextInt(cities.length)]);
+            record.put("code", codes[random.nextInt(codes.length)]);
+            if (random.nextInt(10) > 0) {
+                record.put("price", random.nextInt(40));
+            }
+            record.put("weight", random.nextInt(48) / 4.0);
+            record.put("qty", (long) random.nextInt(30));
+            records.add(new SearchMapDataProvider<>(record));
+        }
+    }
+
+    private static void assertEquivalent(String expression) {
+        SearchOperation operation = SearchParser.parse(plan, expression);
+        SearchOperation optimized = SearchOperationOptimizer.optimize(operation);
+        Predicate<SearchDataProvider> compiled = optimized.compile();
+        for (SearchDataProvider record : records) {
+            boolean expected = operation.match(record);
+            assertThat(optimized.match(record)).as("%s for %s", expression, record.getAllFieldValue()).isEqualTo(expected);
+            assertThat(compiled.test(record)).as("%s compiled for %s", expression, record.getAllFieldValue()).isEqualTo(expected);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "name:ali AND (name:e AND city:paris)",
+            "name:ali OR (name:e OR city:paris)",
+            "city:paris AND city:paris",
+            "city:paris OR city:paris OR city:lyon",
+            "city:paris AND city:!paris",
+            "city:paris OR city:!paris",
+            "city:paris OR city:lyon OR city:bern",
+            "city:paris OR city:paris,bern OR city:lyon",
+            "city:!paris AND city:!lyon",
+            "city:paris AND city:lyon",
+            "city:paris AND city:PARIS",
+            "code:AB1 AND code:ab1",
+            "code:AB1 OR code:ab1 OR code:CD2",
+            "name:ali OR name:bob",
+            "price:10 OR price:11 OR price:3,4,10",
+            "price:10 AND price:11",
+            "price:10-20 AND price:15-30",
+            "price:10-20 OR price:15-30",
+            "price:10-20 OR price:30-35",
+            "price:10-20 AND price:30-35",
+            "price:20-10 OR price:10-20",
+            "price:!5-15 AND price:!10-20",
+            "price:!5-15 OR price:!10-20",
+            "weight:1-10 AND weight:3-9",
+            "weight:1-10 OR weight:3-9 OR weight:!1-2",
+            "qty:7 OR qty:!7",
+            "qty:3,10,1 OR qty:7",
+            "qty:5-25 AND qty:!3,4 AND qty:!7",
+            "alice OR alice",
+            "!bob AND !bob AND paris,lyon",
+            "(city:paris AND city:!paris) OR name:ali",
+            "(city:paris OR city:!paris) AND name:ali",
+            "((price:10 OR price:11) AND (price:11 OR price:12)) OR qty:7"
+    })
+    void testOptimizedOperationMatchesLikeOriginal(String expression) {
+        assertEquivalent(expression);
+    }
+
+    @Test
+    void testOptimizedRandomOperationsMatchLikeOriginal() {
+        Random random = new Random(7);
+        for (int index = 0; index < 500; index++) {
+            assertEquivalent(randomExpression(random, 3));
+        }
+    }
+
+    @Test
+    void testOriginalOperationIsNotModified() {
+        SearchOperation operation = SearchParser.parse(plan, "city:paris OR city:lyon OR (price:10-20 OR price:15-30)");
+        String before = describe(operation);
+        SearchOperationOptimizer.optimize(operation);
+        assertThat(describe(operation)).isEqualTo(before);
+    }
+
+    @Test
+    void testContradictionFoldsIntoConstant() {
+        SearchOperation optimized = SearchOperationOptimizer.optimize(SearchParser.parse(plan, "city:paris AND city:!paris"));
+        assertThat(optimized).isSameAs(SearchConstantOperation.of(false));
+    }
+
+    @Test
+    void testEqualitiesMergeIntoList() {
+        SearchOperation optimized = SearchOperationOptimizer.optimize(SearchParser.parse(plan, "city:paris OR city:lyon OR city:bern"));
+        assertThat(optimized).isInstanceOf(SearchRelationalOperation.class);
+        assertThat(((SearchRelationalOperation) optimized).getOperator()).isEqualTo(SearchRelationalOperator.LIST);
+        assertThat(((SearchRelationalOperation) optimized).getValue()).isEqualTo(List.of("paris", "lyon", "bern"));
+    }
+
+    private static String randomExpression(Random random, int depth) {
+        int count = 1 + random.nextInt(5);
+        StringBuilder expression = new StringBuilder();
+        for (int index = 0; index < count; index++) {
+            if (index > 0) {
+                expression.append(random.nextBoolean() ? " AND " : " OR ");
+            }
+            if (depth > 0 && random.nextInt(3) == 0) {
+                expression.append('(').append(randomExpression(random, depth - 1)).append(')');
+            } else {
+                expression.append(LEAVES[random.nextInt(LEAVES.length)]);
+            }
+        }
+        return expression.toString();
+    }
+
+}
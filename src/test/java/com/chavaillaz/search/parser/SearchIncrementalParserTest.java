@@ -0,0 +1,134 @@
+package com.chavaillaz.search.parser;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static com.chavaillaz.search.SearchTestFixtures.describe;
+import static com.chavaillaz.search.SearchTestFixtures.field;
+import static com.chavaillaz.search.SearchTestFixtures.plan;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchIncrementalParserTest {
+
+    private static final String[] PIECES = {
+            "name:", "city:", "price:", "ali", "bob", "paris", "10", "3-8", "!", "\"", "'", "new york",
+            " ", " ", " AND ", " OR ", "(", ")", ":", ","
+    };
+
+    private static SearchExpressionPlan plan;
+
+    @BeforeAll
+    static void setUp() {
+        plan = plan(field("name", String.class), field("city", String.class), field("price", Integer.class));
+    }
+
+    private static String parse(SearchParser parser, String expression) {
+        try {
+            return describe(parser.parse(expression));
+        } catch (SearchParseException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String edit(SearchIncrementalParser parser, int offset, int length, String replacement) {
+        try {
+            return describe(parser.edit(offset, length, replacement));
+        } catch (SearchParseException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static void assertParsedLikeFresh(SearchIncrementalParser parser, String expression) {
+        assertThat(parse(parser, expression)).as(expression).isEqualTo(parse(new SearchParser(plan), expression));
+    }
+
+    @Test
+    void testAppends() {
+        SearchIncrementalParser parser = new SearchIncrementalParser(plan);
+        String expression = "name:alice AND (city:\"new york\" OR price:3-8) OR bob";
+        for (int length = 0; length <= expression.length(); length++) {
+            assertParsedLikeFresh(parser, expression.substring(0, length));
+        }
+        assertThat(parser.getReusedOperationCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testMiddleEdits() {
+        SearchIncrementalParser parser = new SearchIncrementalParser(plan);
+        parser.parse("name:alice AND city:paris OR price:10");
+
+        assertThat(edit(parser, 20, 5, "lyon")).isEqualTo("((name LIKE alice AND city LIKE lyon) OR price LIKE 10)");
+        assertThat(parser.getReusedOperationCount()).isEqualTo(1);
+        assertThat(edit(parser, 11, 3, "OR")).isEqualTo(parse(new SearchParser(plan), "name:alice OR city:lyon OR price:10"));
+        assertThat(edit(parser, 0, 4, "city")).isEqualTo(parse(new SearchParser(plan), "city:alice OR city:lyon OR price:10"));
+        assertThat(parser.getReusedOperationCount()).isZero();
+    }
+
+    @Test
+    void testDeletions() {
+        SearchIncrementalParser parser = new SearchIncrementalParser(plan);
+        String expression = "name:alice AND (city:paris OR price:10) OR bob";
+        parser.parse(expression);
+        for (int offset = expression.length() - 1; offset >= 0; offset -= 3) {
+            String deleted = expression.substring(0, offset) + expression.substring(offset + 1);
+            assertThat(edit(parser, offset, 1, "")).as(deleted).isEqualTo(parse(new SearchParser(plan), deleted));
+            assertParsedLikeFresh(parser, expression);
+        }
+    }
+
+    @Test
+    void testEditsInsideQuotes() {
+        SearchIncrementalParser parser = new SearchIncrementalParser(plan);
+        parser.parse("name:ali city:\"new york\" price:10");
+
+        assertThat(edit(parser, 18, 0, " OR ")).isEqualTo("(name LIKE ali AND city LIKE new OR  york AND price LIKE 10)");
+        assertThat(parser.getReusedOperationCount()).isEqualTo(1);
+        assertThat(edit(parser, 14, 1, "")).isEqualTo(parse(new SearchParser(plan), "name:ali city:new OR  york\" price:10"));
+        assertThat(edit(parser, 14, 0, "'")).isEqualTo(parse(new SearchParser(plan), "name:ali city:'new OR  york\" price:10"));
+        assertThat(edit(parser, 28, 0, "'")).isEqualTo("(name LIKE ali AND city LIKE new OR  york\" AND price LIKE 10)");
+    }
+
+    @Test
+    void testRecoveryAfterFailedParsing() {
+        SearchIncrementalParser parser = new SearchIncrementalParser(plan);
+        parser.parse("name:alice AND price:10");
+
+        assertThatThrownBy(() -> parser.edit(15, 8, "price:abc")).isInstanceOf(SearchParseException.class);
+        assertThat(parser.getReusedOperationCount()).isEqualTo(1);
+        assertThat(edit(parser, 21, 2, "12")).isEqualTo("(name LIKE alice AND price LIKE 12)");
+        assertThat(parser.getReusedOperationCount()).isZero();
+
+        assertThat(parse(parser, "(name:alice AND price:12")).isEqualTo("Unmatched opening bracket at column 1");
+        assertThat(parse(parser, "(name:alice AND price:12)")).isEqualTo("((name LIKE alice AND price LIKE 12))");
+        assertThat(parser.getReusedOperationCount()).isZero();
+        assertThat(edit(parser, 25, 0, " OR bob")).isEqualTo("((name LIKE alice AND price LIKE 12) OR * LIKE bob)");
+        assertThat(parser.getReusedOperationCount()).isEqualTo(2);
+        assertParsedLikeFresh(parser, "(name:alice AND price:12) OR bob)");
+        assertParsedLikeFresh(parser, "(name:alice AND price:12) OR bob");
+    }
+
+    @Test
+    void testRandomEditsParseLikeFresh() {
+        Random random = new Random(25);
+        for (int session = 0; session < 300; session++) {
+            SearchIncrementalParser parser = new SearchIncrementalParser(plan);
+            StringBuilder expression = new StringBuilder();
+            for (int step = 0; step < 40; step++) {
+                String piece = PIECES[random.nextInt(PIECES.length)];
+                int action = random.nextInt(4);
+                if (action == 0 && expression.length() > 0) {
+                    expression.deleteCharAt(random.nextInt(expression.length()));
+                } else if (action == 1) {
+                    expression.insert(random.nextInt(expression.length() + 1), piece);
+                } else {
+                    expression.append(piece);
+                }
+                assertParsedLikeFresh(parser, expression.toString());
+            }
+        }
+    }
+
+}
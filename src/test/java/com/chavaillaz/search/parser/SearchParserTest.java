@@ -0,0 +1,106 @@
+package com.chavaillaz.search.parser;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.chavaillaz.search.data.SearchMapDataProvider;
+
+import static com.chavaillaz.search.SearchTestFixtures.describe;
+import static com.chavaillaz.search.SearchTestFixtures.field;
+import static com.chavaillaz.search.SearchTestFixtures.plan;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class SearchParserTest {
+
+    private static SearchExpressionPlan plan;
+
+    @BeforeAll
+    static void setUp() {
+        plan = plan(field("name", String.class), field("city", String.class), field("price", Integer.class));
+    }
+
+    static Stream<Arguments> expressions() {
+        return Stream.of(
+                // Quotes spanning delimiters
+                arguments("name:\"new york\"", "(name LIKE new york)"),
+                arguments("city:'a (b) c:d'", "(city LIKE a (b) c:d)"),
+                arguments("name:\"new york\" OR city:'le mans'", "(name LIKE new york OR city LIKE le mans)"),
+                // Mixed quotes
+                arguments("name:\"it's\"", "(name LIKE it's)"),
+                arguments("name:'say \"hi\"'", "(name LIKE say \"hi\")"),
+                arguments("name:new\"' '\"york", "(name LIKE new' 'york)"),
+                // Unterminated quotes
+                arguments("name:\"open", "(name LIKE open)"),
+                arguments("name:'x OR y", "(name LIKE x OR y)"),
+                arguments("name:'(a", "(name LIKE (a)"),
+                // Quoted operators
+                arguments("a \"OR\" b", "(* LIKE a AND * LIKE OR AND * LIKE b)"),
+                arguments("name:'and'", "(name LIKE and)"),
+                arguments("\"OR\"", "(* LIKE OR)"),
+                // Empty field or value
+                arguments("", "()"),
+                arguments("name:", "()"),
+                arguments("name:\"\" OR b", "(* LIKE b)"),
+                arguments(":value", "(* LIKE value)"),
+                // Double colon
+                arguments("name::x", "(* LIKE x)"),
+                // Brackets and priorities
+                arguments("(a OR b) AND c", "((* LIKE a OR * LIKE b) AND * LIKE c)"),
+                arguments("a OR b AND c", "(* LIKE a OR (* LIKE b AND * LIKE c))"),
+                arguments("OR AND b", "((* LIKE b))"),
+                arguments("((name:x))", "(((name LIKE x)))"),
+                arguments("price:1-2 OR name:!x", "(price INTERVAL [1, 2] OR !name LIKE x)")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("expressions")
+    void testParseExpression(String expression, String expected) {
+        assertThat(describe(SearchParser.parse(plan, expression))).isEqualTo(expected);
+    }
+
+    static Stream<Arguments> invalidExpressions() {
+        return Stream.of(
+                arguments("name:x)", "Unmatched closing bracket", 7),
+                arguments("a) OR b", "Unmatched closing bracket", 2),
+                arguments("(a) OR b)", "Unmatched closing bracket", 9),
+                arguments("(name:x", "Unmatched opening bracket", 1),
+                arguments("a AND (b OR c", "Unmatched opening bracket", 7),
+                arguments("((a) OR (b", "Unmatched opening bracket", 9),
+                arguments("((a) OR b", "Unmatched opening bracket", 1),
+                arguments("(name:')'", "Unmatched opening bracket", 1),
+                arguments("price:abc", "Error during conversion of value abc", 7)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidExpressions")
+    void testParseInvalidExpression(String expression, String description, int column) {
+        assertThatThrownBy(() -> SearchParser.parse(plan, expression))
+                .isInstanceOf(SearchParseException.class)
+                .hasMessageStartingWith(description)
+                .hasMessageEndingWith("at column " + column)
+                .extracting(exception -> ((SearchParseException) exception).getColumn())
+                .isEqualTo(column);
+    }
+
+    @Test
+    void testFailedParsingKeepsPreviousExpression() {
+        SearchParser parser = new SearchParser(plan);
+        parser.parse("name:alice");
+        assertThatThrownBy(() -> parser.parse("(name:bob")).isInstanceOf(SearchParseException.class);
+
+        assertThat(parser.match(new SearchMapDataProvider<>(Map.of("name", "alice")))).isTrue();
+        assertThat(parser.match(new SearchMapDataProvider<>(Map.of("name", "bob")))).isFalse();
+        assertThat(describe(parser.parse("name:bob"))).isEqualTo("(name LIKE bob)");
+    }
+
+}